@@ -1,16 +1,21 @@
 package com.bank.controllers;
 
 import com.bank.models.SimulationHistoryRecord;
+import com.bank.simulation.SimulationModel;
+import com.bank.simulation.Simulator;
+import com.bank.ui.components.EventPrinter;
 import com.bank.ui.components.ProbabilitiesTable;
 import com.bank.ui.components.SimulationEventsTable;
 import com.bank.ui.components.SimulationStatisticsTable;
 import com.bank.ui.pages.HistoryDetailPage;
 import com.bank.utils.TextUtils;
 
+import javax.swing.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 
-import static com.bank.utils.SimulationVisualization.*;
+import static com.bank.ui.SimulationVisualization.*;
 
 public class HistoryDetailPageController {
     private final SimulationHistoryRecord record;
@@ -69,29 +74,26 @@ public class HistoryDetailPageController {
         }
 
 
-        SimulationEventsTable eventsTable = new SimulationEventsTable();
-        for (SimulationHistoryRecord.EventRow event : record.getEvents()) {
-            eventsTable.addEventRow(
-                    event.time(),
-                    event.type(),
-                    event.customer(),
-                    event.service(),
-                    event.employee(),
-                    event.queues(),
-                    event.action()
-            );
+        if (record.getMasterSeed() != null && Simulator.RNG_ALGORITHM.equals(record.getRngAlgorithm())) {
+            SimulationEventsTable eventsTable = new SimulationEventsTable();
+            view.addEventReplayTable("Simulation Events", eventsTable, params.simulationRuns(), params.simulationDays());
+            view.setReplayButtonAction(action -> replayEvents(eventsTable, view.getReplayRun(), view.getReplayDay()));
+            replayEvents(eventsTable, 0, 0);
+        } else if (record.getEventTrace() != null) {
+            SimulationEventsTable eventsTable = new SimulationEventsTable();
+            eventsTable.addEventTrace(record.getEventTrace());
+            view.addDataTable("First Day's Simulation Events", eventsTable, 400);
         }
-        view.addDataTable("First Day's Simulation Events", eventsTable, 400);
 
-        var firstDayStats = record.getFirstDayStats();
-        var totalStats = record.getTotalStats();
+        var firstDayStats = record.getFirstDayMetrics();
+        var totalStats = record.getTotalMetrics();
 
         SimulationStatisticsTable firstDayStatsTable = new SimulationStatisticsTable();
-        firstDayStatsTable.setStatistics(new ArrayList<>(firstDayStats));
+        firstDayStatsTable.setMetrics(firstDayStats);
         view.addDataTable("First Day Statistics", firstDayStatsTable, 300);
 
         SimulationStatisticsTable totalStatsTable = new SimulationStatisticsTable();
-        totalStatsTable.setStatistics(new ArrayList<>(totalStats));
+        totalStatsTable.setMetrics(totalStats);
         view.addDataTable("Total Statistics", totalStatsTable, 300);
 
         view.addChart("Average Service Times", createAvgServiceTimeChart(totalStats));
@@ -99,6 +101,60 @@ public class HistoryDetailPageController {
         view.addChart("Maximum Queue Sizes", createMaxQueueSizeChart(totalStats));
         view.addChart("Wait Probability Distribution", createWaitProbabilityPieChart(totalStats));
         view.addChart("Idle vs Busy Portion", createIdlePortionChart(totalStats));
+
+        if (record.hasHistograms()) {
+            view.addChart("Wait Time Distribution",
+                    createHistogramChart("Wait Time Distribution", "Wait Time", record.getWaitTimeHistograms()));
+            view.addChart("Time in Bank Distribution",
+                    createHistogramChart("Time in Bank Distribution", "Time in Bank", record.getSojournTimeHistograms()));
+            view.addChart("Service Time Distribution",
+                    createHistogramChart("Service Time Distribution", "Service Time", record.getServiceTimeHistograms()));
+        }
+        if (record.getTimeOfDayProfile() != null) {
+            view.addChart("Load by Time of Day", createTimeOfDayHeatmap(record.getTimeOfDayProfile()));
+        }
+    }
+
+    /**
+     * Regenerates the events of one day from the record's seed and shows them in the table as they come.
+     */
+    private void replayEvents(SimulationEventsTable eventsTable, int run, int day) {
+        SimulationHistoryRecord.SimulationParams params = record.getSimulationParams();
+        Simulator simulator = new Simulator();
+        simulator.setStreamingArrivals(record.isStreamingArrivals());
+        simulator.setSimulationRuns(params.simulationRuns());
+        simulator.setSimulationDays(params.simulationDays());
+        simulator.setSimulationCustomersCount(params.simulationCustomers());
+        SimulationModel model = SimulationModel.from(record.getConfigSnapshot());
+
+        eventsTable.clearEvents();
+        view.setReplayRunning(true);
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                simulator.replay(
+                        model,
+                        record.getMasterSeed(),
+                        record.getRngAlgorithm(),
+                        run,
+                        day,
+                        new EventPrinter(eventsTable, false)
+                );
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                view.setReplayRunning(false);
+                try {
+                    get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    System.err.println("Failed to replay simulation events: " + e.getCause().getMessage());
+                }
+            }
+        }.execute();
     }
 
     private int countEmployees(List<SimulationHistoryRecord.EmployeeConfigSnapshot> employees, String area, String type) {
@@ -1,6 +1,8 @@
 package com.bank.controllers;
 
 import com.bank.models.SimulationHistoryRecord;
+import com.bank.models.SimulationHistorySummary;
+import com.bank.simulation.Metric;
 import com.bank.ui.pages.HistoryDetailPage;
 import com.bank.ui.pages.HistoryPage;
 import com.bank.utils.SimulationHistoryStorage;
@@ -21,7 +23,7 @@ public class HistoryPageController {
     }
 
     public void loadHistory() {
-        List<SimulationHistoryRecord> history = historyStorage.loadHistory();
+        List<SimulationHistorySummary> history = historyStorage.loadSummaries();
         view.clearHistory();
 
         if (history.isEmpty()) {
@@ -29,20 +31,29 @@ public class HistoryPageController {
             return;
         }
 
-        for (SimulationHistoryRecord record : history) {
-            SimulationHistoryRecord.SimulationParams params = record.getSimulationParams();
-            String label = String.format(
+        for (SimulationHistorySummary summary : history) {
+            SimulationHistoryRecord.SimulationParams params = summary.simulationParams();
+            StringBuilder label = new StringBuilder(String.format(
                     "Simulation - %s | Days: %d | Customers/day: %d | Runs: %d",
-                    record.getTimestamp().format(DATE_FORMAT),
+                    summary.timestamp().format(DATE_FORMAT),
                     params.simulationDays(),
                     params.simulationCustomers(),
                     params.simulationRuns()
-            );
-            view.addHistoryItem(label, record);
+            ));
+            if (summary.headlineMetrics().has(Metric.AVG_TOTAL_WAIT)) {
+                label.append(" | Avg wait: ").append(summary.headlineMetrics().format(Metric.AVG_TOTAL_WAIT));
+            }
+            view.addHistoryItem(label.toString(), summary);
         }
     }
 
-    public void showHistoryDetail(SimulationHistoryRecord record) {
+    public void showHistoryDetail(SimulationHistorySummary summary) {
+        SimulationHistoryRecord record = historyStorage.loadSimulation(summary.id());
+        if (record == null) {
+            loadHistory();
+            return;
+        }
+
         HistoryDetailPage detailPage = new HistoryDetailPage(record);
         JFrame detailFrame = new JFrame("Simulation Details");
         detailFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -52,7 +63,7 @@ public class HistoryPageController {
         detailFrame.setVisible(true);
     }
 
-    public void deleteHistory(SimulationHistoryRecord record) {
+    public void deleteHistory(SimulationHistorySummary summary) {
         int confirm = JOptionPane.showConfirmDialog(
                 view,
                 "Are you sure you want to delete this simulation record?",
@@ -61,7 +72,7 @@ public class HistoryPageController {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            historyStorage.deleteSimulation(record);
+            historyStorage.deleteSimulation(summary.id());
             loadHistory();
         }
     }
@@ -0,0 +1,339 @@
+package com.bank.controllers;
+
+import com.bank.models.*;
+import com.bank.simulation.QueueLengthSeries;
+import com.bank.simulation.SimulationConfigs;
+import com.bank.simulation.SimulationData;
+import com.bank.simulation.SimulationModel;
+import com.bank.simulation.Simulator;
+import com.bank.ui.components.EventPrinter;
+import com.bank.ui.components.SimulationEventsTable;
+import com.bank.ui.components.SimulationStatisticsTable;
+import com.bank.ui.pages.SimulationPage;
+import com.bank.utils.SimulationHistoryStorage;
+
+import javax.swing.*;
+import javax.swing.Timer;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.bank.ui.SimulationVisualization.*;
+
+public class SimulationPageController {
+    // Points of the first day's queue length charts, whatever the length of the day
+    private static final int QUEUE_LENGTH_POINTS = 500;
+
+    private final SimulationPage view;
+    private final Simulator simulator;
+    private final SimulationHistoryStorage historyStorage = new SimulationHistoryStorage();
+    private Map<String, JTextField> simulationParameters;
+    private final SimulationEventsTable simulationEventsTable = new SimulationEventsTable();
+    private final SimulationStatisticsTable firstDayStatsTable = new SimulationStatisticsTable();
+    private final SimulationStatisticsTable totalStatsTable = new SimulationStatisticsTable();
+    private final ExecutorService historyExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "simulation-history");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private SimulationWorker worker;
+    private final Timer progressTimer = new Timer(200, action -> {
+        if (worker != null) {
+            worker.updateProgress();
+        }
+    });
+
+    public SimulationPageController(SimulationPage view) {
+        this.view = view;
+        this.simulator = new Simulator();
+        this.simulator.setParallel(true);
+        this.simulator.setStreamingArrivals(true);
+        this.simulator.setCompactEngine(true);
+        this.simulator.setQueueLengthPoints(QUEUE_LENGTH_POINTS);
+        this.simulator.addListener(new EventPrinter(simulationEventsTable));
+
+        loadParams();
+        setupActions();
+    }
+
+    private void loadParams() {
+        simulationParameters = view.addParameters(new String[][]{
+                {"simulation_days", "Simulation Days", "10"},
+                {"simulation_customers", "Customers per Day", "10"},
+                {"simulation_runs", "Simulation Runs", "10"},
+                {"target_precision", "Target CI Half-Width % (0 = all runs)", "0"}
+        });
+    }
+
+    private void startSimulation() {
+        if (worker != null && !worker.isDone()) {
+            return;
+        }
+        view.clearSimulationResults();
+        simulationEventsTable.clearEvents();
+
+        SimulationHistoryRecord.SimulationParams params;
+        try {
+            int customersPerDay = getIntValue("simulation_customers");
+            int days = getIntValue("simulation_days");
+            int runs = getIntValue("simulation_runs");
+            int targetPrecision = getIntValue("target_precision");
+
+            simulator.setSimulationCustomersCount(customersPerDay);
+            simulator.setSimulationDays(days);
+            simulator.setSimulationRuns(runs);
+            simulator.setTargetRelativeHalfWidth(targetPrecision > 0 ? targetPrecision / 100.0 : null);
+            params = new SimulationHistoryRecord.SimulationParams(days, customersPerDay, runs);
+        } catch (NumberFormatException e) {
+            showErrorMessage("Please enter valid whole numbers for all simulation parameters.");
+            return;
+        }
+
+        // Compiled on the EDT, the only thread the settings page edits the configs on
+        SimulationModel model = SimulationModel.from(SimulationConfigs.instance);
+
+        view.setRunning(true);
+        simulator.resetCancellation();
+        worker = new SimulationWorker(params, model);
+        simulator.setProgressListener(worker);
+        progressTimer.start();
+        worker.execute();
+    }
+
+    private void cancelSimulation() {
+        if (worker != null && !worker.isDone()) {
+            simulator.cancel();
+            view.setCancelling();
+        }
+    }
+
+    /**
+     * Runs the study off the EDT. The first day's results are published as soon as that day finishes, the totals
+     * and charts once every replication is merged.
+     */
+    private class SimulationWorker extends SwingWorker<Void, SimulationData> implements SimulationProgressListener {
+        private final SimulationHistoryRecord.SimulationParams params;
+        private final SimulationModel model;
+        private final long startNanos = System.nanoTime();
+        private volatile int completedReplications;
+        private volatile int totalReplications;
+        private boolean firstDayShown = false;
+
+        SimulationWorker(SimulationHistoryRecord.SimulationParams params, SimulationModel model) {
+            this.params = params;
+            this.model = model;
+        }
+
+        @Override
+        protected Void doInBackground() {
+            simulator.startSimulation(model);
+            return null;
+        }
+
+        @Override
+        public void onFirstDayFinished(SimulationData firstDayStats) {
+            publish(firstDayStats);
+        }
+
+        @Override
+        public void onReplicationFinished(int completedReplications, int totalReplications) {
+            this.totalReplications = totalReplications;
+            this.completedReplications = completedReplications;
+        }
+
+        @Override
+        protected void process(List<SimulationData> chunks) {
+            showFirstDayResults(chunks.get(0));
+        }
+
+        private void showFirstDayResults(SimulationData firstDayStats) {
+            if (firstDayShown) {
+                return;
+            }
+            firstDayShown = true;
+            firstDayStatsTable.setMetrics(firstDayStats.getMetrics());
+            view.addDataTable("First Day's Simulation Events", simulationEventsTable, 400);
+            view.addDataTable("First Day's Statistics", firstDayStatsTable, 300);
+            QueueLengthSeries queueLengths = simulator.getFirstDayQueueLengths();
+            if (queueLengths != null) {
+                view.addChart("First Day's Queue Lengths", createQueueLengthChart(
+                        "First Day's Queue Lengths",
+                        queueLengths,
+                        QueueLengthSeries.INDOOR_TELLER_QUEUE,
+                        QueueLengthSeries.OUTDOOR_TELLER_QUEUE,
+                        QueueLengthSeries.SERVICE_EMPLOYEE_QUEUE
+                ));
+                view.addChart("First Day's Occupancy", createQueueLengthChart(
+                        "First Day's Occupancy",
+                        queueLengths,
+                        QueueLengthSeries.BUSY_EMPLOYEES,
+                        QueueLengthSeries.CUSTOMERS_IN_BANK
+                ));
+            }
+            view.showResults();
+        }
+
+        void updateProgress() {
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+            int completed = completedReplications;
+            view.setProgress(completed, totalReplications, elapsedSeconds > 0 ? completed / elapsedSeconds : 0);
+        }
+
+        @Override
+        protected void done() {
+            progressTimer.stop();
+            view.setRunning(false);
+
+            try {
+                get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CancellationException) {
+                    showSuccessMessage("Simulation cancelled.");
+                } else {
+                    showFailureMessage(cause.getMessage() != null ? cause.getMessage() : cause.toString());
+                }
+                return;
+            } catch (InterruptedException | CancellationException e) {
+                showSuccessMessage("Simulation cancelled.");
+                return;
+            }
+
+            if (simulator.getFirstDayStats() != null) {
+                showFirstDayResults(simulator.getFirstDayStats());
+            }
+            showTotalResults();
+            // A study that stopped at its target precision is saved with the runs it actually did
+            saveSimulationHistory(new SimulationHistoryRecord.SimulationParams(
+                    params.simulationDays(),
+                    params.simulationCustomers(),
+                    simulator.getCompletedRuns()
+            ));
+            if (simulator.getCompletedRuns() < params.simulationRuns()) {
+                showSuccessMessage("Simulation Finished! Target precision reached after "
+                        + simulator.getCompletedRuns() + " of " + params.simulationRuns() + " runs.");
+            } else {
+                showSuccessMessage("Simulation Finished!");
+            }
+        }
+    }
+
+    private void showTotalResults() {
+        var totalStats = simulator.getTotalStats().getMetrics();
+        totalStatsTable.setMetrics(totalStats);
+
+        view.addDataTable("Total Statistics", totalStatsTable, 300);
+
+        view.addChart("Average Service Times", createAvgServiceTimeChart(totalStats));
+        view.addChart("Average Wait Times", createAvgWaitTimesChart(totalStats));
+        view.addChart("Maximum Queue Sizes", createMaxQueueSizeChart(totalStats));
+        view.addChart("Wait Probability Distribution", createWaitProbabilityPieChart(totalStats));
+        view.addChart("Idle vs Busy Portion", createIdlePortionChart(totalStats));
+
+        SimulationData total = simulator.getTotalStats();
+        view.addChart("Wait Time Distribution",
+                createHistogramChart("Wait Time Distribution", "Wait Time", total.getWaitTimeHistograms()));
+        view.addChart("Time in Bank Distribution",
+                createHistogramChart("Time in Bank Distribution", "Time in Bank", total.getSojournTimeHistograms()));
+        view.addChart("Service Time Distribution",
+                createHistogramChart("Service Time Distribution", "Service Time", total.getServiceTimeHistograms()));
+        view.addChart("Load by Time of Day", createTimeOfDayHeatmap(total.timeOfDay));
+
+        view.showResults();
+    }
+
+    private void saveSimulationHistory(SimulationHistoryRecord.SimulationParams params) {
+        try {
+            SimulationModel model = simulator.getModel();
+            List<SimulationHistoryRecord.EmployeeConfigSnapshot> employees = new ArrayList<>();
+            for (EmployeeData emp : model.getOutdoorTellers()) {
+                employees.add(new SimulationHistoryRecord.EmployeeConfigSnapshot(
+                        emp.getArea().toString(),
+                        emp.getType().toString(),
+                        emp.getId(),
+                        new LinkedHashMap<>(emp.getServiceTimeProbabilities())
+                ));
+            }
+            for (EmployeeData emp : model.getIndoorTellers()) {
+                employees.add(new SimulationHistoryRecord.EmployeeConfigSnapshot(
+                        emp.getArea().toString(),
+                        emp.getType().toString(),
+                        emp.getId(),
+                        new LinkedHashMap<>(emp.getServiceTimeProbabilities())
+                ));
+            }
+            for (EmployeeData emp : model.getServiceEmployees()) {
+                employees.add(new SimulationHistoryRecord.EmployeeConfigSnapshot(
+                        emp.getArea().toString(),
+                        emp.getType().toString(),
+                        emp.getId(),
+                        new LinkedHashMap<>(emp.getServiceTimeProbabilities())
+                ));
+            }
+
+            SimulationHistoryRecord.SimulationConfigSnapshot configSnapshot =
+                    new SimulationHistoryRecord.SimulationConfigSnapshot(
+                            model.getOutdoorQueueCapacity(),
+                            model.getCashCustomerProbability(),
+                            new LinkedHashMap<>(model.getTimeBetweenArrivalDistribution().getProbabilities()),
+                            employees,
+                            model.getEmployeeSelectionPolicy()
+                    );
+
+            SimulationHistoryRecord record = new SimulationHistoryRecord(
+                    null,
+                    simulator.getMasterSeed(),
+                    Simulator.RNG_ALGORITHM,
+                    simulator.isStreamingArrivals(),
+                    simulator.getFirstDayStats().getMetrics(),
+                    simulator.getTotalStats().getMetrics(),
+                    configSnapshot,
+                    params
+            );
+            record.setHistograms(
+                    simulator.getTotalStats().getWaitTimeHistograms(),
+                    simulator.getTotalStats().getSojournTimeHistograms(),
+                    simulator.getTotalStats().getServiceTimeHistograms()
+            );
+            record.setTimeOfDayProfile(simulator.getTotalStats().timeOfDay);
+
+            // The record is built on the EDT from the finished study, writing it to disk is not
+            historyExecutor.execute(() -> {
+                try {
+                    historyStorage.saveSimulation(record);
+                } catch (Exception e) {
+                    System.err.println("Failed to save simulation history: " + e.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to save simulation history: " + e.getMessage());
+        }
+    }
+
+    private void setupActions() {
+        view.setStartButtonAction(action -> startSimulation());
+        view.setCancelButtonAction(action -> cancelSimulation());
+    }
+
+    public void showSuccessMessage(String message) {
+        JOptionPane.showMessageDialog(view, message, "Success", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private int getIntValue(String key) {
+        JTextField field = simulationParameters.get(key);
+        if (field == null) {
+            throw new NumberFormatException("Missing parameter for key " + key);
+        }
+        return Integer.parseInt(field.getText().trim());
+    }
+
+    private void showErrorMessage(String message) {
+        JOptionPane.showMessageDialog(view, message, "Invalid Parameters", JOptionPane.ERROR_MESSAGE);
+    }
+
+    private void showFailureMessage(String message) {
+        JOptionPane.showMessageDialog(view, message, "Simulation Failed", JOptionPane.ERROR_MESSAGE);
+    }
+}
\ No newline at end of file
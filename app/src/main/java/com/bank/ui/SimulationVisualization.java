@@ -0,0 +1,231 @@
+package com.bank.ui;
+
+import com.bank.simulation.LatencyHistogram;
+import com.bank.simulation.Metric;
+import com.bank.simulation.QueueLengthSeries;
+import com.bank.simulation.SimulationMetrics;
+import com.bank.simulation.TimeOfDayProfile;
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.SymbolAxis;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.PaintScale;
+import org.jfree.chart.renderer.xy.XYBlockRenderer;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.general.DefaultPieDataset;
+import org.jfree.data.xy.DefaultXYZDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
+
+import java.awt.*;
+import java.util.Map;
+
+public class SimulationVisualization {
+    public static JFreeChart createWaitProbabilityPieChart(SimulationMetrics metrics) {
+        DefaultPieDataset<String> dataset = new DefaultPieDataset<>();
+
+        for (Metric metric : metrics.getMetrics(Metric.Group.WAIT_PROBABILITY)) {
+            dataset.setValue(metric.getLabel(), metrics.get(metric) * 100);
+        }
+
+        return ChartFactory.createPieChart(
+                "Wait Probability Distribution",
+                dataset,
+                true, true, false
+        );
+    }
+
+    public static JFreeChart createAvgWaitTimesChart(SimulationMetrics metrics) {
+        DefaultCategoryDataset ds = new DefaultCategoryDataset();
+
+        for (Metric metric : metrics.getMetrics(Metric.Group.WAIT_TIME)) {
+            ds.addValue(metrics.get(metric), "Avg Wait", metric.getLabel());
+        }
+
+        return ChartFactory.createBarChart(
+                "Average Wait Times",
+                "Queue Type",
+                "Avg Wait Time",
+                ds
+        );
+    }
+
+    public static JFreeChart createMaxQueueSizeChart(SimulationMetrics metrics) {
+        DefaultCategoryDataset ds = new DefaultCategoryDataset();
+        for (Metric metric : metrics.getMetrics(Metric.Group.MAX_QUEUE_SIZE)) {
+            ds.addValue(metrics.getLong(metric), "Max Queue Size", metric.getLabel());
+        }
+        return ChartFactory.createBarChart(
+                "Maximum Queue Sizes",
+                "Queue",
+                "Max Size",
+                ds
+        );
+    }
+
+    public static JFreeChart createIdlePortionChart(SimulationMetrics metrics) {
+        DefaultCategoryDataset ds = new DefaultCategoryDataset();
+        for (Metric metric : metrics.getMetrics(Metric.Group.IDLE_PORTION)) {
+            double idle = metrics.get(metric) * 100;
+            double busy = 100.0 - idle;
+
+            ds.addValue(idle, "Idle %", metric.getLabel());
+            ds.addValue(busy, "Busy %", metric.getLabel());
+        }
+
+        return ChartFactory.createStackedBarChart(
+                "Idle vs Busy Time",
+                "Employee",
+                "Percentage",
+                ds
+        );
+    }
+
+    public static JFreeChart createAvgServiceTimeChart(SimulationMetrics metrics) {
+        DefaultCategoryDataset ds = new DefaultCategoryDataset();
+
+        for (Metric metric : metrics.getMetrics(Metric.Group.SERVICE_TIME)) {
+            ds.addValue(metrics.get(metric), "Avg Service Time", metric.getLabel());
+        }
+
+        return ChartFactory.createBarChart(
+                "Average Service Times",
+                "Customer Type",
+                "Avg Service Time",
+                ds
+        );
+    }
+
+    /**
+     * Bar chart of one histogram per series. Only buckets holding values in at least one series are shown, each
+     * labeled with the range of times it covers.
+     */
+    public static JFreeChart createHistogramChart(String title, String axisLabel, Map<String, LatencyHistogram> histograms) {
+        DefaultCategoryDataset ds = new DefaultCategoryDataset();
+
+        int bucketCount = 0;
+        for (LatencyHistogram histogram : histograms.values()) {
+            bucketCount = Math.max(bucketCount, histogram.getBucketCount());
+        }
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            long total = 0;
+            for (LatencyHistogram histogram : histograms.values()) {
+                total += histogram.getCountAt(bucket);
+            }
+            if (total == 0) continue;
+
+            long low = LatencyHistogram.bucketLowValue(bucket);
+            long high = LatencyHistogram.bucketHighValue(bucket);
+            String range = low == high ? String.valueOf(low) : low + "-" + high;
+            for (var entry : histograms.entrySet()) {
+                ds.addValue(entry.getValue().getCountAt(bucket), entry.getKey(), range);
+            }
+        }
+
+        return ChartFactory.createBarChart(
+                title,
+                axisLabel,
+                "Customers",
+                ds
+        );
+    }
+
+    /**
+     * Line chart of some of a day's downsampled series. Each time bucket is drawn as a vertical stroke from its
+     * smallest to its largest value, so the line follows the exact range of values however many changes a bucket
+     * held.
+     *
+     * @param series indexes of the series to plot, from {@link QueueLengthSeries}
+     */
+    public static JFreeChart createQueueLengthChart(String title, QueueLengthSeries queueLengths, int... series) {
+        XYSeriesCollection dataset = new XYSeriesCollection();
+
+        for (int s : series) {
+            XYSeries line = new XYSeries(QueueLengthSeries.getName(s), false, true);
+            for (int bucket = 0; bucket < queueLengths.getBucketCount(); bucket++) {
+                int time = queueLengths.getBucketStart(bucket);
+                line.add(time, queueLengths.getMin(s, bucket));
+                line.add(time, queueLengths.getMax(s, bucket));
+            }
+            dataset.addSeries(line);
+        }
+
+        return ChartFactory.createXYLineChart(
+                title,
+                "Time",
+                "Customers",
+                dataset
+        );
+    }
+
+    /**
+     * Heatmap of the load over the time of day, one row per measure and one column per time bin. Each row is shaded
+     * against its own largest value, so rows in different units share the scale.
+     */
+    public static JFreeChart createTimeOfDayHeatmap(TimeOfDayProfile profile) {
+        String[] rows = {"Arrivals per Day", "Mean Wait", "Queue Length", "Utilization"};
+        int bins = profile.getBinCount();
+        double[][] values = new double[rows.length][bins];
+        for (int bin = 0; bin < bins; bin++) {
+            values[0][bin] = profile.getArrivalsPerDay(bin);
+            values[1][bin] = profile.getMeanWait(bin);
+            values[2][bin] = profile.getMeanQueueLength(bin);
+            values[3][bin] = profile.getUtilization(bin);
+        }
+
+        DefaultXYZDataset dataset = new DefaultXYZDataset();
+        for (int row = 0; row < rows.length; row++) {
+            double max = 0;
+            for (double value : values[row]) {
+                max = Math.max(max, value);
+            }
+            double[][] cells = new double[3][bins];
+            for (int bin = 0; bin < bins; bin++) {
+                cells[0][bin] = (double) bin * profile.getBinWidth();
+                cells[1][bin] = row;
+                cells[2][bin] = max == 0 ? 0 : values[row][bin] / max;
+            }
+            dataset.addSeries(rows[row], cells);
+        }
+
+        XYBlockRenderer renderer = new XYBlockRenderer();
+        renderer.setBlockWidth(profile.getBinWidth());
+        renderer.setBlockHeight(1);
+        renderer.setPaintScale(new HeatmapPaintScale());
+
+        NumberAxis timeAxis = new NumberAxis("Time of Day");
+        timeAxis.setLowerMargin(0);
+        timeAxis.setUpperMargin(0);
+        SymbolAxis measureAxis = new SymbolAxis(null, rows);
+        measureAxis.setRange(-0.5, rows.length - 0.5);
+
+        return new JFreeChart("Load by Time of Day", new XYPlot(dataset, timeAxis, measureAxis, renderer));
+    }
+
+    // Blends from white at 0 to indigo at 1
+    private static class HeatmapPaintScale implements PaintScale {
+        private static final Color LOW = Color.WHITE;
+        private static final Color HIGH = new Color(79, 70, 229);
+
+        @Override
+        public double getLowerBound() {
+            return 0;
+        }
+
+        @Override
+        public double getUpperBound() {
+            return 1;
+        }
+
+        @Override
+        public Paint getPaint(double value) {
+            double t = Math.max(0, Math.min(1, value));
+            return new Color(
+                    (int) Math.round(LOW.getRed() + (HIGH.getRed() - LOW.getRed()) * t),
+                    (int) Math.round(LOW.getGreen() + (HIGH.getGreen() - LOW.getGreen()) * t),
+                    (int) Math.round(LOW.getBlue() + (HIGH.getBlue() - LOW.getBlue()) * t)
+            );
+        }
+    }
+}
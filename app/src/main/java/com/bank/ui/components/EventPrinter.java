@@ -1,14 +1,27 @@
-package com.bank.models;
+package com.bank.ui.components;
 
-import com.bank.ui.components.SimulationEventsTable;
+import com.bank.models.*;
+
+import java.util.List;
 
 public class EventPrinter implements SimulationListener{
     private final SimulationEventsTable eventsTable;
+    private final boolean printToConsole;
 
     public EventPrinter(SimulationEventsTable eventsTable) {
+        this(eventsTable, true);
+    }
+
+    /**
+     * @param printToConsole whether events are also written to stdout, or only added to the table
+     */
+    public EventPrinter(SimulationEventsTable eventsTable, boolean printToConsole) {
         this.eventsTable = eventsTable;
+        this.printToConsole = printToConsole;
     }
 
+    private final StringBuilder output = new StringBuilder();
+
     public void printEvent( SimulationEventRecord simulationEventRecord ) {
         Employee e = simulationEventRecord.event().getEmployeeStatus();
         Customer c = simulationEventRecord.event().getCustomer();
@@ -26,17 +39,21 @@ public class EventPrinter implements SimulationListener{
                 serviceEmployeeQueueSize
         );
 
-        eventsTable.addEventRow(
+        eventsTable.addEvent(
                 currentTime,
                 type.toString(),
-                "Cust#" + c.id(),
+                c.id(),
                 c.serviceType().toString(),
                 empName,
-                queues,
+                outdoorTellerQueueSize,
+                indoorTellerQueueSize,
+                serviceEmployeeQueueSize,
                 description
         );
 
-        System.out.printf("%-8d | %-10s | %-12s | %-10s | %-15s | %-15s | %-15s%n",
+        if (!printToConsole) return;
+
+        output.append(String.format("%-8d | %-10s | %-12s | %-10s | %-15s | %-15s | %-15s%n",
                 currentTime,
                 type,
                 "Cust#" + c.id(),
@@ -44,11 +61,27 @@ public class EventPrinter implements SimulationListener{
                 empName,
                 queues,
                 description
-        );
+        ));
     }
 
     @Override
     public void onEvent(SimulationEventRecord eventRecord) {
         printEvent(eventRecord);
+        flushOutput();
+    }
+
+    // A whole batch goes to stdout in one write
+    @Override
+    public void onEvents(List<SimulationEventRecord> eventRecords) {
+        for (SimulationEventRecord eventRecord : eventRecords) {
+            printEvent(eventRecord);
+        }
+        flushOutput();
+    }
+
+    private void flushOutput() {
+        if (output.isEmpty()) return;
+        System.out.print(output);
+        output.setLength(0);
     }
 }
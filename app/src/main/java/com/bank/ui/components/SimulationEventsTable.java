@@ -1,40 +1,29 @@
 package com.bank.ui.components;
 
+import com.bank.models.EventTrace;
 import com.bank.ui.Theme;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 
 public class SimulationEventsTable extends JPanel {
 
     private final JTable table;
-    private final DefaultTableModel tableModel;
+    private final SimulationEventsTableModel tableModel;
+    private final JScrollPane scrollPane;
 
     public SimulationEventsTable() {
         setLayout(new BorderLayout(0, 10));
         setBackground(Theme.PANEL_BG);
 
-        String[] columnNames = {
-                "Time",
-                "Type",
-                "Customer",
-                "Service",
-                "Employee",
-                "Queues (O|I|S)",
-                "Action"
-        };
-
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) { return false; }
-        };
+        tableModel = new SimulationEventsTableModel();
 
         table = new JTable(tableModel);
 
         table.setFont(Theme.DEFAULT_FONT.deriveFont(13f));
+        // Every row has the same height, so JTable only lays out and paints the rows in view
         table.setRowHeight(32);
         table.setForeground(Theme.TEXT_PRIMARY);
         table.setGridColor(Theme.BORDER);
@@ -89,51 +78,52 @@ public class SimulationEventsTable extends JPanel {
         };
         header.setDefaultRenderer(headerRenderer);
 
-        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane = new JScrollPane(table);
         scrollPane.setBorder(BorderFactory.createLineBorder(Theme.BORDER));
         scrollPane.getViewport().setBackground(Theme.PANEL_BG);
 
         add(scrollPane, BorderLayout.CENTER);
+
+        // One scroll to the bottom per batch of rows instead of one per event
+        tableModel.setRowsAddedAction(() -> {
+            JScrollBar bar = scrollPane.getVerticalScrollBar();
+            bar.setValue(bar.getMaximum());
+        });
     }
 
-    public void addEventRow(
+    /**
+     * Adds an event row. Safe to call from any thread, the table picks new rows up in batches on the EDT.
+     */
+    public void addEvent(
             int time,
             String type,
-            String customer,
+            int customerId,
             String service,
             String employee,
-            String queues,
+            int outdoorQueueSize,
+            int indoorQueueSize,
+            int serviceQueueSize,
             String action
     ) {
-        tableModel.addRow(new Object[]{
+        tableModel.addEvent(
                 time,
                 type,
-                customer,
+                customerId,
                 service,
                 employee,
-                queues,
+                outdoorQueueSize,
+                indoorQueueSize,
+                serviceQueueSize,
                 action
-        });
-
-        JScrollBar bar = ((JScrollPane) getComponent(0)).getVerticalScrollBar();
-        bar.setValue(bar.getMaximum());
+        );
     }
 
     public void clearEvents() {
-        tableModel.setRowCount(0);
+        tableModel.clear();
     }
 
-    public Object[][] getTableData() {
-        int rowCount = tableModel.getRowCount();
-        int colCount = tableModel.getColumnCount();
-        Object[][] data = new Object[rowCount][colCount];
-
-        for (int i = 0; i < rowCount; i++) {
-            for (int j = 0; j < colCount; j++) {
-                data[i][j] = tableModel.getValueAt(i, j);
-            }
-        }
-        return data;
+    public void addEventTrace(EventTrace trace) {
+        tableModel.addEventTrace(trace);
     }
 
     public void setEnabled(boolean enabled) {
@@ -0,0 +1,214 @@
+package com.bank.ui.components;
+
+import com.bank.models.EventTrace;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Event log kept as primitive columns. Repeated strings (types, services, employees, actions) are stored once in a
+ * dictionary and referenced by index, and the displayed text is only built when the table asks for a visible cell.
+ * <p>
+ * Rows may be appended from any thread. They become visible to the table in batches: the first append after a
+ * flush schedules one on the EDT, which announces every row added in the meantime with a single
+ * {@code fireTableRowsInserted}.
+ */
+public class SimulationEventsTableModel extends AbstractTableModel {
+    private static final String[] COLUMN_NAMES = {
+            "Time",
+            "Type",
+            "Customer",
+            "Service",
+            "Employee",
+            "Queues (O|I|S)",
+            "Action"
+    };
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final HashMap<String, Integer> dictionaryIds = new HashMap<>();
+    private final ArrayList<String> dictionary = new ArrayList<>();
+
+    private int[] times = new int[INITIAL_CAPACITY];
+    private int[] typeIds = new int[INITIAL_CAPACITY];
+    // A negative value is the complement of the dictionary id of a customer label that isn't "Cust#<id>"
+    private int[] customerIds = new int[INITIAL_CAPACITY];
+    private int[] serviceIds = new int[INITIAL_CAPACITY];
+    private int[] employeeIds = new int[INITIAL_CAPACITY];
+    // A negative outdoor size is the complement of the dictionary id of a queues label given as text
+    private int[] outdoorQueueSizes = new int[INITIAL_CAPACITY];
+    private int[] indoorQueueSizes = new int[INITIAL_CAPACITY];
+    private int[] serviceQueueSizes = new int[INITIAL_CAPACITY];
+    private int[] actionIds = new int[INITIAL_CAPACITY];
+
+    // Rows stored so far, guarded by `this`
+    private int size = 0;
+    // Rows announced to the table, only touched on the EDT
+    private int visibleRows = 0;
+    private boolean flushScheduled = false;
+
+    private Runnable rowsAddedAction;
+
+    public synchronized void addEvent(
+            int time,
+            String type,
+            int customerId,
+            String service,
+            String employee,
+            int outdoorQueueSize,
+            int indoorQueueSize,
+            int serviceQueueSize,
+            String action
+    ) {
+        int row = nextRow();
+        times[row] = time;
+        typeIds[row] = intern(type);
+        customerIds[row] = customerId;
+        serviceIds[row] = intern(service);
+        employeeIds[row] = intern(employee);
+        outdoorQueueSizes[row] = outdoorQueueSize;
+        indoorQueueSizes[row] = indoorQueueSize;
+        serviceQueueSizes[row] = serviceQueueSize;
+        actionIds[row] = intern(action);
+        rowAdded();
+    }
+
+    private int nextRow() {
+        if (size == times.length) {
+            int capacity = times.length * 2;
+            times = Arrays.copyOf(times, capacity);
+            typeIds = Arrays.copyOf(typeIds, capacity);
+            customerIds = Arrays.copyOf(customerIds, capacity);
+            serviceIds = Arrays.copyOf(serviceIds, capacity);
+            employeeIds = Arrays.copyOf(employeeIds, capacity);
+            outdoorQueueSizes = Arrays.copyOf(outdoorQueueSizes, capacity);
+            indoorQueueSizes = Arrays.copyOf(indoorQueueSizes, capacity);
+            serviceQueueSizes = Arrays.copyOf(serviceQueueSizes, capacity);
+            actionIds = Arrays.copyOf(actionIds, capacity);
+        }
+        return size;
+    }
+
+    private int intern(String value) {
+        Integer id = dictionaryIds.get(value);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.add(value);
+            dictionaryIds.put(value, id);
+        }
+        return id;
+    }
+
+    private void rowAdded() {
+        size++;
+        if (!flushScheduled) {
+            flushScheduled = true;
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    private void flush() {
+        int rows;
+        synchronized (this) {
+            flushScheduled = false;
+            rows = size;
+        }
+        if (rows > visibleRows) {
+            int firstRow = visibleRows;
+            visibleRows = rows;
+            fireTableRowsInserted(firstRow, rows - 1);
+            if (rowsAddedAction != null) {
+                rowsAddedAction.run();
+            }
+        }
+    }
+
+    /**
+     * Runs on the EDT once per batch of rows made visible.
+     */
+    public void setRowsAddedAction(Runnable rowsAddedAction) {
+        this.rowsAddedAction = rowsAddedAction;
+    }
+
+    /**
+     * Drops every row. Must be called on the EDT.
+     */
+    public void clear() {
+        synchronized (this) {
+            size = 0;
+            dictionary.clear();
+            dictionaryIds.clear();
+        }
+        visibleRows = 0;
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return visibleRows;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public synchronized Object getValueAt(int row, int column) {
+        return switch (column) {
+            case 0 -> times[row];
+            case 1 -> dictionary.get(typeIds[row]);
+            case 2 -> formatCustomer(row);
+            case 3 -> dictionary.get(serviceIds[row]);
+            case 4 -> dictionary.get(employeeIds[row]);
+            case 5 -> formatQueues(row);
+            case 6 -> dictionary.get(actionIds[row]);
+            default -> throw new IndexOutOfBoundsException("No column " + column);
+        };
+    }
+
+    private String formatCustomer(int row) {
+        int customerId = customerIds[row];
+        return customerId >= 0 ? "Cust#" + customerId : dictionary.get(~customerId);
+    }
+
+    private String formatQueues(int row) {
+        int outdoorQueueSize = outdoorQueueSizes[row];
+        if (outdoorQueueSize < 0) {
+            return dictionary.get(~outdoorQueueSize);
+        }
+        return "O:" + outdoorQueueSize + " | I:" + indoorQueueSizes[row] + " | S:" + serviceQueueSizes[row];
+    }
+
+    /**
+     * Appends every row of a recorded trace, keeping customer ids and queue sizes as numbers where the trace has them.
+     */
+    public synchronized void addEventTrace(EventTrace trace) {
+        EventTrace.Cursor cursor = trace.cursor();
+        while (cursor.next()) {
+            int row = nextRow();
+            times[row] = cursor.time();
+            typeIds[row] = intern(cursor.type());
+            int customerId = cursor.customerId();
+            customerIds[row] = customerId >= 0 ? customerId : ~intern(cursor.customer());
+            serviceIds[row] = intern(cursor.service());
+            employeeIds[row] = intern(cursor.employee());
+            if (cursor.hasQueueSizes()) {
+                outdoorQueueSizes[row] = cursor.outdoorQueueSize();
+                indoorQueueSizes[row] = cursor.indoorQueueSize();
+                serviceQueueSizes[row] = cursor.serviceQueueSize();
+            } else {
+                outdoorQueueSizes[row] = ~intern(cursor.queues());
+            }
+            actionIds[row] = intern(cursor.action());
+            rowAdded();
+        }
+    }
+}
@@ -1,31 +1,27 @@
 package com.bank.ui.components;
 
-import com.bank.simulation.SimulationData;
+import com.bank.simulation.Metric;
+import com.bank.simulation.SimulationMetrics;
 import com.bank.ui.Theme;
 
 import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
-import java.util.ArrayList;
+import java.util.List;
 
 public class SimulationStatisticsTable extends JPanel {
 
+    private static final String[] COLUMN_NAMES = {"Metric", "Value", "Confidence Interval"};
+
     private final JTable table;
-    private final DefaultTableModel tableModel;
+    private final MetricsTableModel tableModel = new MetricsTableModel();
 
     public SimulationStatisticsTable() {
         setLayout(new BorderLayout(0, 10));
         setBackground(Theme.PANEL_BG);
 
-        String[] columnNames = {"Metric", "Value"};
-
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) { return false; }
-        };
-
         table = new JTable(tableModel);
         table.setFont(Theme.DEFAULT_FONT.deriveFont(13f));
         table.setRowHeight(32);
@@ -85,17 +81,14 @@ public class SimulationStatisticsTable extends JPanel {
         add(scrollPane, BorderLayout.CENTER);
     }
 
-    public void setStatistics(ArrayList<SimulationData.Statistic> statistics) {
-        clearStatistics();
-        for (SimulationData.Statistic stat : statistics) {
-            tableModel.addRow(new Object[]{stat.label(), stat.value()});
-        }
+    public void setMetrics(SimulationMetrics metrics) {
+        tableModel.setMetrics(metrics);
         JScrollBar bar = ((JScrollPane) getComponent(0)).getVerticalScrollBar();
         bar.setValue(bar.getMaximum());
     }
 
     public void clearStatistics() {
-        tableModel.setRowCount(0);
+        tableModel.setMetrics(null);
     }
 
     public Object[][] getTableData() {
@@ -114,4 +107,43 @@ public class SimulationStatisticsTable extends JPanel {
     public void setEnabled(boolean enabled) {
         table.setEnabled(enabled);
     }
+
+    /**
+     * Rows of the measured metrics, formatted only when a cell is painted.
+     */
+    private static class MetricsTableModel extends AbstractTableModel {
+        private SimulationMetrics metrics;
+        private List<Metric> rows = List.of();
+
+        void setMetrics(SimulationMetrics metrics) {
+            this.metrics = metrics;
+            this.rows = metrics == null ? List.of() : metrics.getMetrics();
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMN_NAMES.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMN_NAMES[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            Metric metric = rows.get(row);
+            return switch (column) {
+                case 0 -> metric.getLabel();
+                case 1 -> metrics.format(metric);
+                default -> metrics.formatConfidenceInterval(metric);
+            };
+        }
+    }
 }
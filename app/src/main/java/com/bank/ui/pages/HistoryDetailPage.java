@@ -15,6 +15,9 @@ public class HistoryDetailPage extends JPanel {
     private JPanel generalConfigPanel;
     private JPanel distributionsPanel;
     private JPanel resultsPanel;
+    private JSpinner replayRunSpinner;
+    private JSpinner replayDaySpinner;
+    private ThemeButton replayButton;
 
     public HistoryDetailPage(SimulationHistoryRecord record) {
         setLayout(new BorderLayout());
@@ -191,6 +194,63 @@ public class HistoryDetailPage extends JPanel {
         resultsPanel.add(Box.createVerticalStrut(30));
     }
 
+    /**
+     * Adds the events table with a picker of the run and day whose events it shows.
+     */
+    public void addEventReplayTable(String title, SimulationEventsTable eventsTable, int runs, int days) {
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        controls.setBackground(Theme.PANEL_BG);
+        controls.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+        replayRunSpinner = new JSpinner(new SpinnerNumberModel(1, 1, Math.max(runs, 1), 1));
+        replayDaySpinner = new JSpinner(new SpinnerNumberModel(1, 1, Math.max(days, 1), 1));
+        replayButton = new ThemeButton("Show Events", ThemeButton.Variant.DEFAULT);
+
+        JLabel runLabel = new JLabel("Run");
+        runLabel.setFont(Theme.DEFAULT_FONT);
+        JLabel dayLabel = new JLabel("Day");
+        dayLabel.setFont(Theme.DEFAULT_FONT);
+        controls.add(runLabel);
+        controls.add(replayRunSpinner);
+        controls.add(dayLabel);
+        controls.add(replayDaySpinner);
+        controls.add(replayButton);
+
+        JPanel wrapper = new JPanel(new BorderLayout(0, 10));
+        wrapper.setBackground(Theme.PANEL_BG);
+        wrapper.add(controls, BorderLayout.NORTH);
+        wrapper.add(eventsTable, BorderLayout.CENTER);
+
+        addDataTable(title, wrapper, 450);
+    }
+
+    public void setReplayButtonAction(java.awt.event.ActionListener action) {
+        for (var listener : replayButton.getActionListeners()) {
+            replayButton.removeActionListener(listener);
+        }
+        replayButton.addActionListener(action);
+    }
+
+    /**
+     * @return the zero based run picked for replay
+     */
+    public int getReplayRun() {
+        return (Integer) replayRunSpinner.getValue() - 1;
+    }
+
+    /**
+     * @return the zero based day picked for replay
+     */
+    public int getReplayDay() {
+        return (Integer) replayDaySpinner.getValue() - 1;
+    }
+
+    public void setReplayRunning(boolean running) {
+        replayButton.setEnabled(!running);
+        replayRunSpinner.setEnabled(!running);
+        replayDaySpinner.setEnabled(!running);
+    }
+
     public void addChart(String title, JFreeChart chart) {
         ThemePanel panel = new ThemePanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
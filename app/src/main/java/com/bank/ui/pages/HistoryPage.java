@@ -1,7 +1,7 @@
 package com.bank.ui.pages;
 
 import com.bank.controllers.HistoryPageController;
-import com.bank.models.SimulationHistoryRecord;
+import com.bank.models.SimulationHistorySummary;
 import com.bank.ui.Theme;
 import com.bank.ui.components.ThemeButton;
 import com.bank.ui.components.ThemePanel;
@@ -67,7 +67,7 @@ public class HistoryPage extends JPanel {
         historyListPanel.repaint();
     }
 
-    public void addHistoryItem(String label, SimulationHistoryRecord record) {
+    public void addHistoryItem(String label, SimulationHistorySummary summary) {
         ThemePanel itemPanel = new ThemePanel();
         itemPanel.setLayout(new BorderLayout());
         itemPanel.setBorder(BorderFactory.createCompoundBorder(
@@ -82,7 +82,7 @@ public class HistoryPage extends JPanel {
         itemLabel.setForeground(Theme.TEXT_PRIMARY);
         itemPanel.add(itemLabel, BorderLayout.CENTER);
 
-        JPanel buttonPanel = prepareButtonRow(record);
+        JPanel buttonPanel = prepareButtonRow(summary);
 
         itemPanel.add(buttonPanel, BorderLayout.EAST);
 
@@ -92,15 +92,15 @@ public class HistoryPage extends JPanel {
         historyListPanel.repaint();
     }
 
-    private JPanel prepareButtonRow(SimulationHistoryRecord record) {
+    private JPanel prepareButtonRow(SimulationHistorySummary summary) {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
         buttonPanel.setBackground(Theme.PANEL_BG);
 
         ThemeButton viewButton = new ThemeButton("View Details", ThemeButton.Variant.PRIMARY);
-        viewButton.addActionListener(e -> controller.showHistoryDetail(record));
+        viewButton.addActionListener(e -> controller.showHistoryDetail(summary));
 
         ThemeButton deleteButton = new ThemeButton("Delete", ThemeButton.Variant.DEFAULT);
-        deleteButton.addActionListener(e -> controller.deleteHistory(record));
+        deleteButton.addActionListener(e -> controller.deleteHistory(summary));
 
         buttonPanel.add(viewButton);
         buttonPanel.add(deleteButton);
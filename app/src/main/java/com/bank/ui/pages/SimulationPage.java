@@ -15,6 +15,10 @@ import java.util.Map;
 public class SimulationPage extends JPanel {
     private JPanel simulationParamsPanel;
     private JButton startSimulationButton;
+    private JPanel simulationProgressPanel;
+    private JProgressBar simulationProgressBar;
+    private JLabel simulationProgressLabel;
+    private JButton cancelSimulationButton;
     private JPanel simulationResultsPanel;
     private JLabel simulationResultsLabel;
 
@@ -41,7 +45,9 @@ public class SimulationPage extends JPanel {
         content.add(Box.createVerticalStrut(20));
 
         content.add(prepareSimulationStartButton());
-        content.add(Box.createVerticalStrut(40));
+        content.add(Box.createVerticalStrut(20));
+        content.add(prepareSimulationProgressPanel());
+        content.add(Box.createVerticalStrut(20));
 
         simulationResultsLabel = new JLabel("Simulation Results");
         simulationResultsLabel.setFont(Theme.TITLE_FONT);
@@ -62,6 +68,30 @@ public class SimulationPage extends JPanel {
         return startSimulationButton;
     }
 
+    private JPanel prepareSimulationProgressPanel() {
+        simulationProgressPanel = new ThemePanel();
+        simulationProgressPanel.setLayout(new BorderLayout(10, 10));
+        simulationProgressPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        simulationProgressPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        simulationProgressPanel.setVisible(false);
+
+        simulationProgressLabel = new JLabel(" ");
+        simulationProgressLabel.setFont(Theme.DEFAULT_FONT);
+        simulationProgressLabel.setForeground(Theme.TEXT_SECONDARY);
+        simulationProgressPanel.add(simulationProgressLabel, BorderLayout.NORTH);
+
+        simulationProgressBar = new JProgressBar();
+        simulationProgressBar.setForeground(Theme.PRIMARY);
+        simulationProgressBar.setStringPainted(true);
+        simulationProgressPanel.add(simulationProgressBar, BorderLayout.CENTER);
+
+        cancelSimulationButton = new ThemeButton("Cancel", ThemeButton.Variant.DEFAULT, false, GoogleMaterialDesignIcons.CANCEL);
+        simulationProgressPanel.add(cancelSimulationButton, BorderLayout.EAST);
+
+        simulationProgressPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, simulationProgressPanel.getPreferredSize().height));
+        return simulationProgressPanel;
+    }
+
     private JPanel prepareSimulationParametersPanel() {
         ThemePanel panel = new ThemePanel();
         panel.setLayout(new BorderLayout());
@@ -162,6 +192,43 @@ public class SimulationPage extends JPanel {
         startSimulationButton.addActionListener(action);
     }
 
+    public void setCancelButtonAction(java.awt.event.ActionListener action) {
+        for (var listener : cancelSimulationButton.getActionListeners()) {
+            cancelSimulationButton.removeActionListener(listener);
+        }
+        cancelSimulationButton.addActionListener(action);
+    }
+
+    /**
+     * Switches between the idle page and the running one, which shows the progress panel and locks the start button.
+     */
+    public void setRunning(boolean running) {
+        startSimulationButton.setEnabled(!running);
+        cancelSimulationButton.setEnabled(running);
+        simulationProgressPanel.setVisible(running);
+        if (running) {
+            setProgress(0, 0, 0);
+        }
+        revalidate();
+        repaint();
+    }
+
+    public void setProgress(int completedReplications, int totalReplications, double replicationsPerSecond) {
+        simulationProgressBar.setMaximum(Math.max(totalReplications, 1));
+        simulationProgressBar.setValue(completedReplications);
+        simulationProgressLabel.setText(String.format(
+                "%d / %d replications completed (%.1f replications/s)",
+                completedReplications,
+                totalReplications,
+                replicationsPerSecond
+        ));
+    }
+
+    public void setCancelling() {
+        cancelSimulationButton.setEnabled(false);
+        simulationProgressLabel.setText("Cancelling after the running replications finish...");
+    }
+
     public void showResults() {
         simulationResultsLabel.setVisible(true);
         simulationResultsPanel.setVisible(true);
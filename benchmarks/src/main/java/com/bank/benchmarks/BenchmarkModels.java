@@ -0,0 +1,19 @@
+package com.bank.benchmarks;
+
+import com.bank.simulation.SimulationConfigs;
+import com.bank.simulation.SimulationModel;
+
+/**
+ * Models the benchmarks run on, so they all measure the same bank.
+ */
+final class BenchmarkModels {
+    private BenchmarkModels() {
+    }
+
+    /**
+     * @return the default bank, as the configuration starts in a fresh JVM
+     */
+    static SimulationModel defaultModel() {
+        return SimulationModel.from(SimulationConfigs.instance);
+    }
+}
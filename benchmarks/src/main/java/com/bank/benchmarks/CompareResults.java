@@ -0,0 +1,115 @@
+package com.bank.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written with {@code -rf csv}, usually a stored baseline and a fresh run, and exits
+ * with status 1 if any score got worse by more than the threshold and by more than both runs' error margins combined.
+ * Rows added by profilers, such as {@code -prof gc}'s {@code gc.alloc.rate.norm}, are compared like the scores.
+ * <p>
+ * Usage: {@code CompareResults <baseline.csv> <current.csv> [threshold percent, default 5]}
+ */
+public class CompareResults {
+    private record Result(String mode, double score, double error, String unit) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.csv> <current.csv> [threshold percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.05;
+
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (var entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result after = entry.getValue();
+            if (before == null || before.score() == 0) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", after.score(), "new");
+                continue;
+            }
+
+            double change = (after.score() - before.score()) / before.score();
+            // Throughput is better when higher, everything else (times, allocation) when lower
+            double worse = after.mode().equals("thrpt") ? -change : change;
+            double margin = errorOrZero(before.error()) + errorOrZero(after.error());
+            double difference = Math.abs(after.score() - before.score());
+            // Allocation below a byte per operation is escape analysis noise, not garbage
+            boolean regressed = worse > threshold && difference > margin
+                    && !(after.unit().equals("B/op") && difference < 1);
+            if (regressed) regressions++;
+
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %s%s%n",
+                    entry.getKey(), before.score(), after.score(), change * 100, after.unit(),
+                    regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " regression(s) beyond " + threshold * 100 + "%");
+            System.exit(1);
+        }
+    }
+
+    private static double errorOrZero(double error) {
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    // Results keyed by benchmark name and parameter values
+    private static Map<String, Result> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        Map<String, Result> results = new LinkedHashMap<>();
+        if (lines.isEmpty()) return results;
+
+        List<String> header = splitCsv(lines.get(0));
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) continue;
+            List<String> cells = splitCsv(line);
+
+            StringBuilder key = new StringBuilder(cells.get(0));
+            for (int i = 7; i < cells.size(); i++) {
+                key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(cells.get(i));
+            }
+            results.put(key.toString(), new Result(
+                    cells.get(1),
+                    Double.parseDouble(cells.get(4)),
+                    Double.parseDouble(cells.get(5)),
+                    cells.get(6)
+            ));
+        }
+        return results;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
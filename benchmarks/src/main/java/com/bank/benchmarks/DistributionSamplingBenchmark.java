@@ -0,0 +1,43 @@
+package com.bank.benchmarks;
+
+import com.bank.models.ProbabilityDistribution;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One draw from a distribution of equally likely values, the work done for every inter-arrival and service time.
+ * The bin counts straddle the point where {@link ProbabilityDistribution} switches from a scan to a binary search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DistributionSamplingBenchmark {
+    // Powers of two, so the probabilities add up to exactly 1
+    @Param({"4", "16", "64"})
+    public int bins;
+
+    private ProbabilityDistribution distribution;
+    private SplittableRandom rand;
+
+    @Setup
+    public void setup() {
+        Map<Integer, Double> probabilities = new LinkedHashMap<>();
+        for (int i = 1; i <= bins; i++) {
+            probabilities.put(i, 1.0 / bins);
+        }
+        distribution = new ProbabilityDistribution(probabilities);
+        rand = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public int sample() {
+        return distribution.getProbabilityValue(rand.nextDouble());
+    }
+}
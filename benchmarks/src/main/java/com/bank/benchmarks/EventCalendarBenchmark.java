@@ -0,0 +1,59 @@
+package com.bank.benchmarks;
+
+import com.bank.models.Customer;
+import com.bank.models.ServiceType;
+import com.bank.models.SimulationEvent;
+import com.bank.simulation.BucketEventCalendar;
+import com.bank.simulation.EventCalendar;
+import com.bank.simulation.HeapEventCalendar;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classic "hold" workload: the calendar stays at a fixed size while every operation polls the earliest event and
+ * reschedules it a small random time later, like a departure followed by the next service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventCalendarBenchmark {
+    @Param({"HEAP", "BUCKET"})
+    public String calendar;
+
+    @Param({"4", "64", "4096"})
+    public int pendingEvents;
+
+    @Param({"8", "1000"})
+    public int maxDelay;
+
+    private EventCalendar events;
+    private SplittableRandom rand;
+    private Customer customer;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        events = calendar.equals("HEAP") ? new HeapEventCalendar() : new BucketEventCalendar();
+        rand = new SplittableRandom(42);
+        customer = new Customer(ServiceType.CASH, 0, 0);
+        for (int i = 0; i < pendingEvents; i++) {
+            events.add(new SimulationEvent(SimulationEvent.Type.DEPARTURE, rand.nextInt(maxDelay), customer));
+        }
+    }
+
+    @Benchmark
+    public SimulationEvent hold() {
+        SimulationEvent event = events.poll();
+        SimulationEvent next = new SimulationEvent(
+                SimulationEvent.Type.DEPARTURE,
+                event.getTime() + rand.nextInt(maxDelay),
+                customer
+        );
+        events.add(next);
+        return event;
+    }
+}
@@ -0,0 +1,166 @@
+package com.bank.benchmarks;
+
+import com.bank.models.EmployeeData;
+import com.bank.models.SimulationHistoryRecord;
+import com.bank.models.SimulationHistorySummary;
+import com.bank.simulation.SimulationModel;
+import com.bank.simulation.Simulator;
+import com.bank.utils.SimulationHistoryStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Saving a finished study to the history and reading it back, against a history log in a temporary directory.
+ * Saves are synced to disk like in the application, so their time depends on the drive.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryStorageBenchmark {
+
+    /**
+     * A history already holding some studies, which the load benchmarks read.
+     */
+    @State(Scope.Benchmark)
+    public static class FilledHistory {
+        @Param({"100"})
+        public int historySize;
+
+        Path directory;
+        SimulationHistoryStorage storage;
+        String lastId;
+
+        @Setup
+        public void setup() throws IOException {
+            directory = Files.createTempDirectory("history-benchmark");
+            storage = new SimulationHistoryStorage(directory);
+            for (int i = 0; i < historySize; i++) {
+                SimulationHistoryRecord record = createRecord();
+                storage.saveSimulation(record);
+                lastId = record.getId();
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            deleteRecursively(directory);
+        }
+    }
+
+    /**
+     * A history the save benchmark appends to, growing over the trial like a history that is used for a long time.
+     */
+    @State(Scope.Thread)
+    public static class EmptyHistory {
+        Path directory;
+        SimulationHistoryStorage storage;
+        SimulationHistoryRecord record;
+
+        @Setup
+        public void setup() throws IOException {
+            directory = Files.createTempDirectory("history-benchmark");
+            storage = new SimulationHistoryStorage(directory);
+            record = createRecord();
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public void save(EmptyHistory history) {
+        history.storage.saveSimulation(history.record);
+    }
+
+    @Benchmark
+    public SimulationHistoryRecord loadSimulation(FilledHistory history) {
+        return history.storage.loadSimulation(history.lastId);
+    }
+
+    @Benchmark
+    public List<SimulationHistorySummary> loadSummaries(FilledHistory history) {
+        return history.storage.loadSummaries();
+    }
+
+    // A small study saved the way the simulation page saves it
+    private static SimulationHistoryRecord createRecord() {
+        Simulator simulator = new Simulator();
+        simulator.setSeed(42L);
+        simulator.setSimulationDays(5);
+        simulator.setSimulationRuns(5);
+        simulator.setSimulationCustomersCount(100);
+        simulator.startSimulation(BenchmarkModels.defaultModel());
+
+        SimulationModel model = simulator.getModel();
+        List<EmployeeData> employeeData = new ArrayList<>(model.getOutdoorTellers());
+        employeeData.addAll(model.getIndoorTellers());
+        employeeData.addAll(model.getServiceEmployees());
+        List<SimulationHistoryRecord.EmployeeConfigSnapshot> employees = new ArrayList<>();
+        for (EmployeeData emp : employeeData) {
+            employees.add(new SimulationHistoryRecord.EmployeeConfigSnapshot(
+                    emp.getArea().toString(),
+                    emp.getType().toString(),
+                    emp.getId(),
+                    new LinkedHashMap<>(emp.getServiceTimeProbabilities())
+            ));
+        }
+
+        SimulationHistoryRecord record = new SimulationHistoryRecord(
+                null,
+                simulator.getMasterSeed(),
+                Simulator.RNG_ALGORITHM,
+                simulator.isStreamingArrivals(),
+                simulator.getFirstDayStats().getMetrics(),
+                simulator.getTotalStats().getMetrics(),
+                new SimulationHistoryRecord.SimulationConfigSnapshot(
+                        model.getOutdoorQueueCapacity(),
+                        model.getCashCustomerProbability(),
+                        new LinkedHashMap<>(model.getTimeBetweenArrivalDistribution().getProbabilities()),
+                        employees,
+                        model.getEmployeeSelectionPolicy()
+                ),
+                new SimulationHistoryRecord.SimulationParams(5, 100, 5)
+        );
+        record.setHistograms(
+                simulator.getTotalStats().getWaitTimeHistograms(),
+                simulator.getTotalStats().getSojournTimeHistograms(),
+                simulator.getTotalStats().getServiceTimeHistograms()
+        );
+        record.setTimeOfDayProfile(simulator.getTotalStats().timeOfDay);
+        return record;
+    }
+
+    // The log writes its checkpoint in the background after a save, which can land while the directory is deleted
+    private static void deleteRecursively(Path directory) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(path);
+                }
+                return;
+            } catch (DirectoryNotEmptyException e) {
+                if (attempt == 10) throw e;
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bank.benchmarks;
+
+import com.bank.simulation.SimulationData;
+import com.bank.simulation.SimulationModel;
+import com.bank.simulation.Simulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A study of a single day on the default configuration. The first day always runs on the object engine with its
+ * statistics kept, so this measures the engine that produces the events shown to users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulationDayBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int customers;
+
+    @Param({"false", "true"})
+    public boolean streamingArrivals;
+
+    private Simulator simulator;
+    private SimulationModel model;
+
+    @Setup
+    public void setup() {
+        model = BenchmarkModels.defaultModel();
+        simulator = new Simulator();
+        simulator.setSeed(42L);
+        simulator.setSimulationDays(1);
+        simulator.setSimulationRuns(1);
+        simulator.setSimulationCustomersCount(customers);
+        simulator.setStreamingArrivals(streamingArrivals);
+    }
+
+    @Benchmark
+    public SimulationData day() {
+        simulator.startSimulation(model);
+        return simulator.getFirstDayStats();
+    }
+}
@@ -0,0 +1,55 @@
+package com.bank.benchmarks;
+
+import com.bank.simulation.SimulationData;
+import com.bank.simulation.SimulationMetrics;
+import com.bank.simulation.Simulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merging one day's statistics into a study's, done once per replication by the merge tree, and computing the
+ * reported metrics from the totals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StatisticsBenchmark {
+    @Param({"1000"})
+    public int customers;
+
+    private SimulationData day;
+    private SimulationData total;
+
+    @Setup
+    public void setup() {
+        Simulator simulator = new Simulator();
+        simulator.setSeed(42L);
+        simulator.setSimulationDays(1);
+        simulator.setSimulationRuns(1);
+        simulator.setSimulationCustomersCount(customers);
+        simulator.startSimulation(BenchmarkModels.defaultModel());
+        day = simulator.getFirstDayStats();
+    }
+
+    // A fresh total per iteration keeps the 64-bit totals far from overflowing
+    @Setup(Level.Iteration)
+    public void resetTotal() {
+        total = new SimulationData();
+    }
+
+    @Benchmark
+    public SimulationData merge() {
+        total.merge(day);
+        return total;
+    }
+
+    @Benchmark
+    public SimulationMetrics calculateStatistics() {
+        day.calculateStatistics();
+        return day.getMetrics();
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.benchmarks;
+
+import com.bank.simulation.SimulationData;
+import com.bank.simulation.SimulationModel;
+import com.bank.simulation.Simulator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole studies through {@link Simulator#startSimulation}: every replication, the merge tree and the final
+ * statistics, in each combination of the engine options.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StudyBenchmark {
+    @Param({"10"})
+    public int days;
+
+    @Param({"100"})
+    public int runs;
+
+    @Param({"1000"})
+    public int customers;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Param({"false", "true"})
+    public boolean compactEngine;
+
+    private Simulator simulator;
+    private SimulationModel model;
+
+    @Setup
+    public void setup() {
+        model = BenchmarkModels.defaultModel();
+        simulator = new Simulator();
+        simulator.setSeed(42L);
+        simulator.setSimulationDays(days);
+        simulator.setSimulationRuns(runs);
+        simulator.setSimulationCustomersCount(customers);
+        simulator.setStreamingArrivals(true);
+        simulator.setParallel(parallel);
+        simulator.setCompactEngine(compactEngine);
+    }
+
+    @Benchmark
+    public SimulationData study() {
+        simulator.startSimulation(model);
+        return simulator.getTotalStats();
+    }
+}
@@ -0,0 +1,207 @@
+package com.bank.cli;
+
+import com.bank.simulation.Metric;
+import com.bank.simulation.SimulationMetrics;
+
+import java.io.PrintWriter;
+
+/**
+ * Writes one line per study as soon as it finishes, so scripts can follow a long batch and keep the results of a batch
+ * that is stopped halfway. Numbers are written in full precision with a dot as decimal separator whatever the locale;
+ * metrics that were not measured are left out.
+ */
+abstract class BatchResultWriter {
+    enum Format {
+        JSONL,
+        CSV
+    }
+
+    /**
+     * Outcome of one study. Failed studies only have their name, error and timing.
+     */
+    record Result(
+            String scenario,
+            String error,
+            int days,
+            int customersPerDay,
+            int runs,
+            int completedRuns,
+            long seed,
+            String rngAlgorithm,
+            long elapsedMillis,
+            SimulationMetrics metrics
+    ) {
+        boolean succeeded() {
+            return error == null;
+        }
+
+        long simulatedDays() {
+            return (long) completedRuns * days;
+        }
+
+        double daysPerSecond() {
+            return elapsedMillis == 0 ? 0 : simulatedDays() * 1000.0 / elapsedMillis;
+        }
+
+        double customersPerSecond() {
+            return daysPerSecond() * customersPerDay;
+        }
+    }
+
+    protected final PrintWriter out;
+
+    protected BatchResultWriter(PrintWriter out) {
+        this.out = out;
+    }
+
+    static BatchResultWriter create(Format format, PrintWriter out) {
+        return switch (format) {
+            case JSONL -> new JsonLines(out);
+            case CSV -> new Csv(out);
+        };
+    }
+
+    abstract void write(Result result);
+
+    // Finite values only, neither JSON nor most CSV readers take NaN or infinity
+    protected static String number(double value) {
+        if (!Double.isFinite(value)) return null;
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) return String.valueOf((long) value);
+        return String.valueOf(value);
+    }
+
+    private static final class JsonLines extends BatchResultWriter {
+        private JsonLines(PrintWriter out) {
+            super(out);
+        }
+
+        @Override
+        void write(Result result) {
+            StringBuilder line = new StringBuilder("{");
+            field(line, "scenario", string(result.scenario()));
+            field(line, "status", string(result.succeeded() ? "ok" : "error"));
+            if (!result.succeeded()) {
+                field(line, "error", string(result.error()));
+            } else {
+                field(line, "days", String.valueOf(result.days()));
+                field(line, "customersPerDay", String.valueOf(result.customersPerDay()));
+                field(line, "runs", String.valueOf(result.runs()));
+                field(line, "completedRuns", String.valueOf(result.completedRuns()));
+                field(line, "seed", String.valueOf(result.seed()));
+                field(line, "rngAlgorithm", string(result.rngAlgorithm()));
+            }
+            field(line, "elapsedMillis", String.valueOf(result.elapsedMillis()));
+            if (result.succeeded()) {
+                field(line, "daysPerSecond", number(result.daysPerSecond()));
+                field(line, "customersPerSecond", number(result.customersPerSecond()));
+                line.append(",\"metrics\":").append(metrics(result.metrics(), false));
+                line.append(",\"halfWidths\":").append(metrics(result.metrics(), true));
+            }
+            out.println(line.append('}'));
+            out.flush();
+        }
+
+        private static String metrics(SimulationMetrics metrics, boolean halfWidths) {
+            StringBuilder object = new StringBuilder("{");
+            for (Metric metric : metrics.getMetrics()) {
+                String value = number(halfWidths ? metrics.getHalfWidth(metric) : metrics.get(metric));
+                if (value != null) {
+                    field(object, metric.name(), value);
+                }
+            }
+            return object.append('}').toString();
+        }
+
+        private static void field(StringBuilder object, String name, String value) {
+            if (value == null) return;
+            if (object.length() > 1) object.append(',');
+            object.append(string(name)).append(':').append(value);
+        }
+
+        private static String string(String value) {
+            StringBuilder quoted = new StringBuilder("\"");
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> quoted.append("\\\"");
+                    case '\\' -> quoted.append("\\\\");
+                    case '\n' -> quoted.append("\\n");
+                    case '\r' -> quoted.append("\\r");
+                    case '\t' -> quoted.append("\\t");
+                    default -> {
+                        if (c < 0x20) quoted.append(String.format("\\u%04x", (int) c));
+                        else quoted.append(c);
+                    }
+                }
+            }
+            return quoted.append('"').toString();
+        }
+    }
+
+    /**
+     * One column per metric and one for the half-width of each, in the order of {@link Metric}, so every line has the
+     * same columns whichever metrics the study measured.
+     */
+    private static final class Csv extends BatchResultWriter {
+        private boolean headerWritten = false;
+
+        private Csv(PrintWriter out) {
+            super(out);
+        }
+
+        @Override
+        void write(Result result) {
+            if (!headerWritten) {
+                StringBuilder header = new StringBuilder("scenario,status,error,days,customersPerDay,runs,"
+                        + "completedRuns,seed,rngAlgorithm,elapsedMillis,daysPerSecond,customersPerSecond");
+                for (Metric metric : Metric.values()) {
+                    header.append(',').append(metric.name());
+                    header.append(',').append(metric.name()).append("_HALF_WIDTH");
+                }
+                out.println(header);
+                headerWritten = true;
+            }
+
+            StringBuilder line = new StringBuilder();
+            line.append(cell(result.scenario()));
+            line.append(',').append(result.succeeded() ? "ok" : "error");
+            line.append(',').append(result.succeeded() ? "" : cell(result.error()));
+            if (result.succeeded()) {
+                line.append(',').append(result.days());
+                line.append(',').append(result.customersPerDay());
+                line.append(',').append(result.runs());
+                line.append(',').append(result.completedRuns());
+                line.append(',').append(result.seed());
+                line.append(',').append(cell(result.rngAlgorithm()));
+            } else {
+                line.append(",,,,,,");
+            }
+            line.append(',').append(result.elapsedMillis());
+            if (result.succeeded()) {
+                line.append(',').append(orEmpty(number(result.daysPerSecond())));
+                line.append(',').append(orEmpty(number(result.customersPerSecond())));
+            } else {
+                line.append(",,");
+            }
+            for (Metric metric : Metric.values()) {
+                SimulationMetrics metrics = result.metrics();
+                line.append(',').append(metrics == null ? "" : orEmpty(number(metrics.get(metric))));
+                line.append(',').append(metrics == null ? "" : orEmpty(number(metrics.getHalfWidth(metric))));
+            }
+            out.println(line);
+            out.flush();
+        }
+
+        private static String orEmpty(String value) {
+            return value == null ? "" : value;
+        }
+
+        private static String cell(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.bank.cli;
+
+import com.bank.simulation.SimulationEngine;
+import com.bank.simulation.SimulationModel;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs studies without the UI, one per scenario file, and writes their metrics as JSON Lines or CSV:
+ * <pre>
+ * java -jar simulation-core.jar [options] scenario.properties...
+ *
+ *   --format jsonl|csv   output format, jsonl by default
+ *   --output FILE        write the results to FILE instead of standard output
+ *   --set KEY=VALUE      override a setting of every scenario, may be repeated
+ *   --sequential         run the replications of each study on one thread
+ *   --threads N          worker threads of a parallel study, the core count by default
+ * </pre>
+ * See {@link BatchScenario} for the settings. The studies run through {@link SimulationEngine} in the core module,
+ * which never loads Swing or JFreeChart, so the runner works on headless machines and starts quickly. Running many
+ * scenarios in one invocation also pays the JVM start-up and warm-up once instead of once per scenario.
+ * <p>
+ * Exits with {@link #EXIT_OK} when every study succeeded, {@link #EXIT_FAILED} when at least one failed (the others
+ * are still run and written) and {@link #EXIT_USAGE} when the command line is wrong or the output cannot be written.
+ */
+public final class BatchRunner {
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = """
+            Usage: BatchRunner [options] scenario.properties...
+              --format jsonl|csv   output format, jsonl by default
+              --output FILE        write the results to FILE instead of standard output
+              --set KEY=VALUE      override a setting of every scenario, may be repeated
+              --sequential         run the replications of each study on one thread
+              --threads N          worker threads of a parallel study, the core count by default""";
+
+    private BatchResultWriter.Format format = BatchResultWriter.Format.JSONL;
+    private Path output;
+    private final Map<String, String> overrides = new LinkedHashMap<>();
+    private boolean parallel = true;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private final List<Path> scenarios = new ArrayList<>();
+
+    private BatchRunner() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * @return the exit code
+     */
+    public static int run(String[] args) {
+        BatchRunner runner = new BatchRunner();
+        try {
+            runner.parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+
+        PrintWriter out;
+        try {
+            out = runner.output == null
+                    ? new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                    : new PrintWriter(Files.newBufferedWriter(runner.output, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Cannot write " + runner.output + ": " + e.getMessage());
+            return EXIT_USAGE;
+        }
+
+        try {
+            int failed = runner.runAll(BatchResultWriter.create(runner.format, out));
+            if (out.checkError()) {
+                System.err.println("Could not write every result");
+                return EXIT_USAGE;
+            }
+            return failed == 0 ? EXIT_OK : EXIT_FAILED;
+        } finally {
+            if (runner.output != null) {
+                out.close();
+            } else {
+                out.flush();
+            }
+        }
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--format" -> {
+                    String value = value(args, ++i, arg);
+                    try {
+                        format = BatchResultWriter.Format.valueOf(value.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown format: " + value);
+                    }
+                }
+                case "--output" -> output = Path.of(value(args, ++i, arg));
+                case "--set" -> {
+                    String value = value(args, ++i, arg);
+                    int separator = value.indexOf('=');
+                    if (separator <= 0)
+                        throw new IllegalArgumentException("--set needs KEY=VALUE: " + value);
+                    overrides.put(value.substring(0, separator).trim(), value.substring(separator + 1).trim());
+                }
+                case "--sequential" -> parallel = false;
+                case "--threads" -> {
+                    String value = value(args, ++i, arg);
+                    try {
+                        threads = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        threads = 0;
+                    }
+                    if (threads < 1)
+                        throw new IllegalArgumentException("--threads needs a positive whole number: " + value);
+                }
+                default -> {
+                    if (arg.startsWith("--"))
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                    scenarios.add(Path.of(arg));
+                }
+            }
+        }
+        if (scenarios.isEmpty())
+            throw new IllegalArgumentException("No scenario files given");
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length)
+            throw new IllegalArgumentException(option + " needs a value");
+        return args[index];
+    }
+
+    // Runs the scenarios in order and returns how many failed
+    private int runAll(BatchResultWriter writer) {
+        long batchStart = System.nanoTime();
+        SimulationEngine engine = new SimulationEngine(parallel ? threads : 1);
+        int failed = 0;
+        for (Path scenario : scenarios) {
+            BatchResultWriter.Result result = runScenario(engine, scenario);
+            if (!result.succeeded()) {
+                failed++;
+                System.err.println(result.scenario() + ": " + result.error());
+            }
+            writer.write(result);
+        }
+        long elapsedMillis = (System.nanoTime() - batchStart) / 1_000_000;
+        System.err.println("Ran " + scenarios.size() + " scenarios in " + elapsedMillis + " ms, " + failed + " failed");
+        return failed;
+    }
+
+    private BatchResultWriter.Result runScenario(SimulationEngine engine, Path file) {
+        long start = System.nanoTime();
+        try {
+            BatchScenario scenario = BatchScenario.load(file, overrides);
+            SimulationEngine.Study study = scenario.toStudy();
+            SimulationModel model = scenario.toModel();
+
+            SimulationEngine.StudyResult result = engine.run(model, study);
+
+            return new BatchResultWriter.Result(
+                    scenario.getName(),
+                    null,
+                    study.days(),
+                    study.customersPerDay(),
+                    study.runs(),
+                    result.completedRuns(),
+                    result.masterSeed(),
+                    result.rngAlgorithm(),
+                    elapsedMillis(start),
+                    result.metrics()
+            );
+        } catch (NoSuchFileException e) {
+            return failure(file, "File not found: " + e.getFile(), start);
+        } catch (IOException e) {
+            return failure(file, "Cannot read the file: " + e.getMessage(), start);
+        } catch (RuntimeException e) {
+            // Bad settings, or a study the engine rejects such as a day longer than the clock can hold
+            return failure(file, e.getMessage() == null ? e.toString() : e.getMessage(), start);
+        }
+    }
+
+    private static BatchResultWriter.Result failure(Path file, String error, long start) {
+        return new BatchResultWriter.Result(file.toString(), error, 0, 0, 0, 0, 0, null, elapsedMillis(start), null);
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
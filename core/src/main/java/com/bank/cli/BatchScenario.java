@@ -0,0 +1,289 @@
+package com.bank.cli;
+
+import com.bank.models.EmployeeData;
+import com.bank.models.EmployeeSelectionPolicy;
+import com.bank.simulation.SimulationConfigs;
+import com.bank.simulation.SimulationEngine;
+import com.bank.simulation.SimulationModel;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static com.bank.models.ServiceType.CASH;
+import static com.bank.models.ServiceType.SERVICE;
+
+/**
+ * One study of a batch, read from a properties file with the same settings as {@link SimulationConfigs} and the
+ * simulation page. Every key is optional and falls back to the defaults of the settings page:
+ * <pre>
+ * days=10
+ * customersPerDay=10
+ * runs=10
+ * seed=42                     # random if left out
+ * targetPrecision=0           # CI half-width in percent of the mean, 0 runs every run
+ * confidenceLevel=0.95
+ *
+ * outdoorQueueCapacity=2
+ * cashCustomerProbability=0.7
+ * employeeSelectionPolicy=FIRST_IDLE
+ * timeBetweenArrivalProbabilities=0:0.15, 1:0.25, 2:0.25, 3:0.35
+ *
+ * outdoorTellers=1
+ * indoorTellers=1
+ * serviceEmployees=1
+ * tellerServiceTimeProbabilities=2:0.2, 3:0.3, 4:0.5
+ * serviceEmployeeServiceTimeProbabilities=4:0.2, 6:0.5, 8:0.3
+ * indoor_teller_0.serviceTimeProbabilities=1:0.5, 2:0.5
+ * </pre>
+ * Employees are named like on the settings page ({@code outdoor_teller_0}, {@code indoor_teller_0},
+ * {@code indoor_service_0}, ...), and a distribution keyed by an employee's name replaces the one of its pool.
+ * Distributions are {@code value:probability} pairs in draw order and must add up to 1. Unknown keys are rejected so
+ * a misspelled setting does not silently run the defaults.
+ */
+final class BatchScenario {
+    private static final double PROBABILITY_TOLERANCE = 1e-9;
+
+    private static final Set<String> KEYS = Set.of(
+            "days",
+            "customersPerDay",
+            "runs",
+            "seed",
+            "targetPrecision",
+            "confidenceLevel",
+            "outdoorQueueCapacity",
+            "cashCustomerProbability",
+            "employeeSelectionPolicy",
+            "timeBetweenArrivalProbabilities",
+            "outdoorTellers",
+            "indoorTellers",
+            "serviceEmployees",
+            "tellerServiceTimeProbabilities",
+            "serviceEmployeeServiceTimeProbabilities"
+    );
+    private static final String EMPLOYEE_KEY_SUFFIX = ".serviceTimeProbabilities";
+
+    private final String name;
+    private final Properties properties;
+
+    private BatchScenario(String name, Properties properties) {
+        this.name = name;
+        this.properties = properties;
+    }
+
+    /**
+     * @param overrides settings given on the command line, replacing the ones of the file
+     */
+    static BatchScenario load(Path file, Map<String, String> overrides) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        properties.putAll(overrides);
+        return new BatchScenario(file.toString(), properties);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getDays() {
+        return getInt("days", 10, 1);
+    }
+
+    int getCustomersPerDay() {
+        return getInt("customersPerDay", 10, 1);
+    }
+
+    int getRuns() {
+        return getInt("runs", 10, 1);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a setting is unknown or out of range
+     */
+    SimulationEngine.Study toStudy() {
+        checkKeys();
+
+        String seed = get("seed");
+        int targetPrecision = getInt("targetPrecision", 0, 0);
+        double confidenceLevel = getDouble("confidenceLevel", 0.95);
+        if (!(confidenceLevel > 0 && confidenceLevel < 1))
+            throw new IllegalArgumentException("confidenceLevel must be between 0 and 1: " + confidenceLevel);
+        return new SimulationEngine.Study(
+                getDays(),
+                getCustomersPerDay(),
+                getRuns(),
+                seed == null ? null : parseLong("seed", seed),
+                targetPrecision > 0 ? targetPrecision / 100.0 : null,
+                confidenceLevel
+        );
+    }
+
+    /**
+     * Compiles the bank the study runs on. Settings left out take the defaults of {@link SimulationConfigs}, which
+     * is only read.
+     *
+     * @throws IllegalArgumentException if a setting is unknown or out of range
+     */
+    SimulationModel toModel() {
+        checkKeys();
+
+        SimulationConfigs defaults = SimulationConfigs.instance;
+        int outdoorQueueCapacity = getInt("outdoorQueueCapacity", defaults.getOutdoorQueueCapacity(), 0);
+        double cashCustomerProbability = getDouble("cashCustomerProbability", defaults.getCashCustomerProbability());
+        if (!(cashCustomerProbability >= 0 && cashCustomerProbability <= 1))
+            throw new IllegalArgumentException(
+                    "cashCustomerProbability must be between 0 and 1: " + cashCustomerProbability);
+        EmployeeSelectionPolicy employeeSelectionPolicy = defaults.getEmployeeSelectionPolicy();
+        String policy = get("employeeSelectionPolicy");
+        if (policy != null) {
+            try {
+                employeeSelectionPolicy = EmployeeSelectionPolicy.valueOf(policy);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("employeeSelectionPolicy must be one of "
+                        + Arrays.toString(EmployeeSelectionPolicy.values()) + ": " + policy);
+            }
+        }
+
+        Map<Integer, Double> tellerServiceTimes =
+                getDistribution("tellerServiceTimeProbabilities", defaults.getDefaultTellerProbability());
+        Map<Integer, Double> serviceEmployeeServiceTimes = getDistribution(
+                "serviceEmployeeServiceTimeProbabilities", defaults.getDefaultServiceEmployeeProbability());
+        List<EmployeeData> employees = new ArrayList<>();
+        addEmployees(employees, "outdoorTellers", "outdoor_teller_", EmployeeData.Area.OUTDOOR, true,
+                tellerServiceTimes);
+        addEmployees(employees, "indoorTellers", "indoor_teller_", EmployeeData.Area.INDOOR, true,
+                tellerServiceTimes);
+        addEmployees(employees, "serviceEmployees", "indoor_service_", EmployeeData.Area.INDOOR, false,
+                serviceEmployeeServiceTimes);
+
+        return SimulationModel.of(
+                employees,
+                outdoorQueueCapacity,
+                cashCustomerProbability,
+                employeeSelectionPolicy,
+                getDistribution("timeBetweenArrivalProbabilities", defaults.getTimeBetweenArrivalProbabilities())
+        );
+    }
+
+    private void addEmployees(
+            List<EmployeeData> employees,
+            String countKey,
+            String idPrefix,
+            EmployeeData.Area area,
+            boolean teller,
+            Map<Integer, Double> poolServiceTimes
+    ) {
+        int count = getInt(countKey, 1, 0);
+        for (int i = 0; i < count; i++) {
+            String id = idPrefix + i;
+            employees.add(new EmployeeData(
+                    area,
+                    teller ? CASH : SERVICE,
+                    id,
+                    getDistribution(id + EMPLOYEE_KEY_SUFFIX, poolServiceTimes)
+            ));
+        }
+    }
+
+    // Rejects keys that are neither settings nor the distribution of an employee the scenario has
+    private void checkKeys() {
+        int outdoorTellers = getInt("outdoorTellers", 1, 0);
+        int indoorTellers = getInt("indoorTellers", 1, 0);
+        int serviceEmployees = getInt("serviceEmployees", 1, 0);
+
+        List<String> unknown = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (KEYS.contains(key)) continue;
+            if (key.endsWith(EMPLOYEE_KEY_SUFFIX)) {
+                String id = key.substring(0, key.length() - EMPLOYEE_KEY_SUFFIX.length());
+                if (isEmployee(id, "outdoor_teller_", outdoorTellers)
+                        || isEmployee(id, "indoor_teller_", indoorTellers)
+                        || isEmployee(id, "indoor_service_", serviceEmployees)) continue;
+            }
+            unknown.add(key);
+        }
+        if (!unknown.isEmpty()) {
+            Collections.sort(unknown);
+            throw new IllegalArgumentException("Unknown settings: " + String.join(", ", unknown));
+        }
+    }
+
+    private static boolean isEmployee(String id, String prefix, int count) {
+        if (!id.startsWith(prefix)) return false;
+        try {
+            int index = Integer.parseInt(id.substring(prefix.length()));
+            return index >= 0 && index < count && id.equals(prefix + index);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private String get(String key) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private int getInt(String key, int defaultValue, int min) {
+        String text = get(key);
+        if (text == null) return defaultValue;
+        int value;
+        try {
+            value = Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a whole number: " + text);
+        }
+        if (value < min)
+            throw new IllegalArgumentException(key + " must be at least " + min + ": " + value);
+        return value;
+    }
+
+    private static long parseLong(String key, String text) {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a whole number: " + text);
+        }
+    }
+
+    private double getDouble(String key, double defaultValue) {
+        String text = get(key);
+        if (text == null) return defaultValue;
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a number: " + text);
+        }
+    }
+
+    private Map<Integer, Double> getDistribution(String key, Map<Integer, Double> defaultValue) {
+        String text = get(key);
+        if (text == null) return defaultValue;
+
+        // Insertion order is the draw order, as in the settings tables
+        Map<Integer, Double> probabilities = new LinkedHashMap<>();
+        double sum = 0;
+        for (String pair : text.split(",")) {
+            String[] parts = pair.split(":");
+            try {
+                if (parts.length != 2) throw new NumberFormatException();
+                int value = Integer.parseInt(parts[0].trim());
+                double probability = Double.parseDouble(parts[1].trim());
+                if (value < 0 || !(probability >= 0))
+                    throw new IllegalArgumentException(key + " needs non-negative values and probabilities: " + text);
+                if (probabilities.put(value, probability) != null)
+                    throw new IllegalArgumentException(key + " lists the value " + value + " twice");
+                sum += probability;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(key + " must be value:probability pairs: " + pair.trim());
+            }
+        }
+        if (Math.abs(sum - 1) > PROBABILITY_TOLERANCE)
+            throw new IllegalArgumentException(key + " probabilities add up to " + sum + " instead of 1");
+        return probabilities;
+    }
+}
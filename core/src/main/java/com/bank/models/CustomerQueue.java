@@ -0,0 +1,115 @@
+package com.bank.models;
+
+import java.util.NoSuchElementException;
+
+/**
+ * FIFO line of customer indices backed by a growable ring buffer, so joining and leaving the line never allocates
+ * once the buffer has grown. Each entry keeps the time its customer joined, so the line alone tells how long the
+ * customer at its head has waited and nothing has to remember the customers of a whole day. It also keeps the line's
+ * statistics up to date as it changes: the longest length seen and the area under the length-over-time curve, from
+ * which the time-average length follows.
+ */
+public class CustomerQueue {
+    private int[] customers;
+    private int[] entryTimes;
+    private int head = 0;
+    private int size = 0;
+
+    private int maxSize = 0;
+    private long area = 0;
+    private int lastChangeTime = 0;
+
+    public CustomerQueue() {
+        this(16);
+    }
+
+    /**
+     * @param capacity initial capacity, rounded up to a power of two
+     */
+    public CustomerQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2));
+        if (size < capacity) size <<= 1;
+        customers = new int[size];
+        entryTimes = new int[size];
+    }
+
+    public void offer(int customer, int time) {
+        if (size == customers.length) grow();
+        advanceTo(time);
+        int tail = (head + size) & (customers.length - 1);
+        customers[tail] = customer;
+        entryTimes[tail] = time;
+        size++;
+        maxSize = Math.max(maxSize, size);
+    }
+
+    public int poll(int time) {
+        if (size == 0) throw new NoSuchElementException("Queue is empty");
+        advanceTo(time);
+        int customer = customers[head];
+        head = (head + 1) & (customers.length - 1);
+        size--;
+        return customer;
+    }
+
+    public int peek() {
+        if (size == 0) throw new NoSuchElementException("Queue is empty");
+        return customers[head];
+    }
+
+    /**
+     * @return the time the customer at the head of the line joined it
+     */
+    public int peekEntryTime() {
+        if (size == 0) throw new NoSuchElementException("Queue is empty");
+        return entryTimes[head];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the integral of the queue length from time 0 up to {@code time}
+     */
+    public long getArea(int time) {
+        return area + (long) size * (time - lastChangeTime);
+    }
+
+    /**
+     * Empties the queue and restarts its statistics at time 0, keeping the buffer.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+        maxSize = 0;
+        area = 0;
+        lastChangeTime = 0;
+    }
+
+    private void advanceTo(int time) {
+        area += (long) size * (time - lastChangeTime);
+        lastChangeTime = time;
+    }
+
+    private void grow() {
+        customers = unwrap(customers);
+        entryTimes = unwrap(entryTimes);
+        head = 0;
+    }
+
+    private int[] unwrap(int[] ring) {
+        int[] grown = new int[ring.length * 2];
+        System.arraycopy(ring, head, grown, 0, ring.length - head);
+        System.arraycopy(ring, 0, grown, ring.length - head, head);
+        return grown;
+    }
+}
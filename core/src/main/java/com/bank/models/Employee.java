@@ -1,26 +1,43 @@
 package com.bank.models;
 
-import java.util.Queue;
-
 public class Employee {
     private boolean isIdle = true;
     private int lastEventTime = 0;
     private int totalIdle = 0;
     private final EmployeeData employeeData;
-    private final Queue<Customer> assignedQueue;
+    private final CustomerQueue assignedQueue;
+    private final IdleEmployeeIndex idleIndex;
+    private final int poolIndex;
 
-    public Employee(EmployeeData employeeData, Queue<Customer> assignedQueue) {
+    /**
+     * @param idleIndex index of the employee's pool, kept up to date as the employee turns busy or idle
+     * @param poolIndex number of the employee within {@code idleIndex}
+     */
+    public Employee(EmployeeData employeeData, CustomerQueue assignedQueue, IdleEmployeeIndex idleIndex, int poolIndex) {
         this.employeeData = employeeData;
         this.assignedQueue = assignedQueue;
+        this.idleIndex = idleIndex;
+        this.poolIndex = poolIndex;
+    }
+
+    /**
+     * Makes the employee idle since time 0 again, ready for a new day.
+     */
+    public void reset() {
+        isIdle = true;
+        lastEventTime = 0;
+        totalIdle = 0;
     }
 
     public void setBusy(int time) {
         isIdle = false;
+        idleIndex.markBusy(poolIndex);
         updateTotalIdle(time);
     }
 
     public void setIdle(int time) {
         isIdle = true;
+        idleIndex.markIdle(poolIndex);
         lastEventTime = time;
     }
 
@@ -36,7 +53,7 @@ public class Employee {
         return totalIdle;
     }
 
-    public Queue<Customer> getAssignedQueue() {
+    public CustomerQueue getAssignedQueue() {
         return assignedQueue;
     }
 
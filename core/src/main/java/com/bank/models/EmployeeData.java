@@ -40,6 +40,10 @@ public class EmployeeData {
         return serviceTimeDistribution.getProbabilityValue(probability);
     }
 
+    public int getMaxServiceTime() {
+        return serviceTimeDistribution.getMaxValue();
+    }
+
     @Override
     public String toString() {
         return this.id;
@@ -0,0 +1,13 @@
+package com.bank.models;
+
+/**
+ * Which idle employee of a pool takes an arriving customer.
+ */
+public enum EmployeeSelectionPolicy {
+    /** The idle employee that comes first in the configured order */
+    FIRST_IDLE,
+    /** The employee that has been idle the longest */
+    LONGEST_IDLE,
+    /** Any idle employee, chosen uniformly at random */
+    RANDOM_IDLE
+}
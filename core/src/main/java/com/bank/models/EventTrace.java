@@ -0,0 +1,443 @@
+package com.bank.models;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Recorded event rows in a compact columnar binary form, as kept in the simulation history.
+ * <p>
+ * Rows are stored column by column. Types, services, employees and actions are ids into one string dictionary,
+ * times and customer ids are zigzag varint deltas from the previous row, and queue sizes are small varints instead
+ * of formatted text. Customer and queue labels that don't follow the usual {@code Cust#<id>} and
+ * {@code O:<n> | I:<n> | S:<n>} formats are kept verbatim through the dictionary. The whole body can be deflated on
+ * top. Nothing is decoded until a {@link Cursor} is opened.
+ */
+public final class EventTrace implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int VERSION = 1;
+    private static final int FLAG_COMPRESSED = 1;
+    private static final String CUSTOMER_PREFIX = "Cust#";
+
+    private final byte[] data;
+
+    private EventTrace(byte[] data) {
+        this.data = data;
+    }
+
+    public static EventTrace of(List<SimulationHistoryRecord.EventRow> rows) {
+        Builder builder = new Builder();
+        for (SimulationHistoryRecord.EventRow row : rows) {
+            builder.add(row.time(), row.type(), row.customer(), row.service(), row.employee(), row.queues(), row.action());
+        }
+        return builder.build(true);
+    }
+
+    /**
+     * @return size of the encoded trace in bytes
+     */
+    public int getEncodedSize() {
+        return data.length;
+    }
+
+    public Cursor cursor() {
+        return new Cursor(data);
+    }
+
+    public List<SimulationHistoryRecord.EventRow> toEventRows() {
+        Cursor cursor = cursor();
+        List<SimulationHistoryRecord.EventRow> rows = new ArrayList<>(cursor.size());
+        while (cursor.next()) {
+            rows.add(new SimulationHistoryRecord.EventRow(
+                    cursor.time(),
+                    cursor.type(),
+                    cursor.customer(),
+                    cursor.service(),
+                    cursor.employee(),
+                    cursor.queues(),
+                    cursor.action()
+            ));
+        }
+        return rows;
+    }
+
+    public static final class Builder {
+        private final HashMap<String, Integer> dictionaryIds = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+
+        private final Bytes times = new Bytes();
+        private final Bytes types = new Bytes();
+        private final Bytes customers = new Bytes();
+        private final Bytes services = new Bytes();
+        private final Bytes employees = new Bytes();
+        private final Bytes queues = new Bytes();
+        private final Bytes actions = new Bytes();
+
+        private int rows = 0;
+        private int lastTime = 0;
+        private int lastCustomerId = 0;
+
+        /**
+         * Adds a row given as formatted text, keeping customer ids and queue sizes as numbers when the labels allow.
+         */
+        public Builder add(
+                int time,
+                String type,
+                String customer,
+                String service,
+                String employee,
+                String queues,
+                String action
+        ) {
+            addCommon(time, type, service, employee, action);
+
+            int customerId = parseCustomerId(customer);
+            if (customerId >= 0) {
+                addCustomerId(customerId);
+            } else {
+                // Odd values are dictionary ids of verbatim labels
+                customers.writeVarLong(((long) intern(customer) << 1) | 1);
+            }
+
+            int[] sizes = parseQueueSizes(queues);
+            if (sizes != null) {
+                addQueueSizes(sizes[0], sizes[1], sizes[2]);
+            } else {
+                // 0 marks a verbatim label, sizes are stored shifted by one
+                this.queues.writeVarLong(0);
+                this.queues.writeVarLong(intern(queues));
+            }
+            return this;
+        }
+
+        private void addCommon(int time, String type, String service, String employee, String action) {
+            times.writeVarLong(zigzag((long) time - lastTime));
+            lastTime = time;
+            types.writeVarLong(intern(type));
+            services.writeVarLong(intern(service));
+            employees.writeVarLong(intern(employee));
+            actions.writeVarLong(intern(action));
+            rows++;
+        }
+
+        private void addCustomerId(int customerId) {
+            customers.writeVarLong(zigzag((long) customerId - lastCustomerId) << 1);
+            lastCustomerId = customerId;
+        }
+
+        private void addQueueSizes(int outdoorQueueSize, int indoorQueueSize, int serviceQueueSize) {
+            queues.writeVarLong((long) outdoorQueueSize + 1);
+            queues.writeVarLong(indoorQueueSize);
+            queues.writeVarLong(serviceQueueSize);
+        }
+
+        private int intern(String value) {
+            Integer id = dictionaryIds.get(value);
+            if (id == null) {
+                id = dictionary.size();
+                dictionary.add(value);
+                dictionaryIds.put(value, id);
+            }
+            return id;
+        }
+
+        public EventTrace build(boolean compress) {
+            Bytes body = new Bytes();
+            body.writeVarLong(rows);
+            body.writeVarLong(dictionary.size());
+            for (String value : dictionary) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                body.writeVarLong(bytes.length);
+                body.write(bytes, 0, bytes.length);
+            }
+            for (Bytes column : List.of(times, types, customers, services, employees, queues, actions)) {
+                body.writeVarLong(column.size());
+                body.writeTo(column);
+            }
+
+            byte[] encoded = body.toByteArray();
+            Bytes out = new Bytes();
+            out.write(VERSION);
+            if (compress) {
+                out.write(FLAG_COMPRESSED);
+                out.writeVarLong(encoded.length);
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                deflater.setInput(encoded);
+                deflater.finish();
+                byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    int length = deflater.deflate(buffer);
+                    out.write(buffer, 0, length);
+                }
+                deflater.end();
+            } else {
+                out.write(0);
+                out.write(encoded, 0, encoded.length);
+            }
+            return new EventTrace(out.toByteArray());
+        }
+    }
+
+    /**
+     * Walks the rows of a trace in order. Opening a cursor decodes the whole trace once.
+     */
+    public static final class Cursor {
+        private final String[] dictionary;
+        private final int rows;
+        private final int[] times;
+        private final int[] types;
+        // Customer id, or the complement of the dictionary id of a verbatim label
+        private final int[] customers;
+        private final int[] services;
+        private final int[] employees;
+        // Outdoor size, or the complement of the dictionary id of a verbatim label
+        private final int[] outdoorQueueSizes;
+        private final int[] indoorQueueSizes;
+        private final int[] serviceQueueSizes;
+        private final int[] actions;
+        private int row = -1;
+
+        private Cursor(byte[] data) {
+            Reader in = new Reader(inflate(data));
+            rows = (int) in.readVarLong();
+            dictionary = new String[(int) in.readVarLong()];
+            for (int i = 0; i < dictionary.length; i++) {
+                int length = (int) in.readVarLong();
+                dictionary[i] = new String(in.data, in.position, length, StandardCharsets.UTF_8);
+                in.position += length;
+            }
+
+            times = new int[rows];
+            types = new int[rows];
+            customers = new int[rows];
+            services = new int[rows];
+            employees = new int[rows];
+            outdoorQueueSizes = new int[rows];
+            indoorQueueSizes = new int[rows];
+            serviceQueueSizes = new int[rows];
+            actions = new int[rows];
+
+            in.readVarLong();
+            long time = 0;
+            for (int i = 0; i < rows; i++) {
+                time += unzigzag(in.readVarLong());
+                times[i] = (int) time;
+            }
+            readIds(in, types);
+
+            in.readVarLong();
+            long customerId = 0;
+            for (int i = 0; i < rows; i++) {
+                long value = in.readVarLong();
+                if ((value & 1) != 0) {
+                    customers[i] = ~(int) (value >>> 1);
+                } else {
+                    customerId += unzigzag(value >>> 1);
+                    customers[i] = (int) customerId;
+                }
+            }
+            readIds(in, services);
+            readIds(in, employees);
+
+            in.readVarLong();
+            for (int i = 0; i < rows; i++) {
+                long outdoor = in.readVarLong();
+                if (outdoor == 0) {
+                    outdoorQueueSizes[i] = ~(int) in.readVarLong();
+                } else {
+                    outdoorQueueSizes[i] = (int) (outdoor - 1);
+                    indoorQueueSizes[i] = (int) in.readVarLong();
+                    serviceQueueSizes[i] = (int) in.readVarLong();
+                }
+            }
+            readIds(in, actions);
+        }
+
+        private void readIds(Reader in, int[] column) {
+            in.readVarLong();
+            for (int i = 0; i < rows; i++) {
+                column[i] = (int) in.readVarLong();
+            }
+        }
+
+        public int size() {
+            return rows;
+        }
+
+        public boolean next() {
+            return ++row < rows;
+        }
+
+        public int time() {
+            return times[row];
+        }
+
+        public String type() {
+            return dictionary[types[row]];
+        }
+
+        /**
+         * @return the customer id, or -1 if the row has a verbatim customer label
+         */
+        public int customerId() {
+            return customers[row] >= 0 ? customers[row] : -1;
+        }
+
+        public String customer() {
+            int customer = customers[row];
+            return customer >= 0 ? CUSTOMER_PREFIX + customer : dictionary[~customer];
+        }
+
+        public String service() {
+            return dictionary[services[row]];
+        }
+
+        public String employee() {
+            return dictionary[employees[row]];
+        }
+
+        public boolean hasQueueSizes() {
+            return outdoorQueueSizes[row] >= 0;
+        }
+
+        public int outdoorQueueSize() {
+            return outdoorQueueSizes[row];
+        }
+
+        public int indoorQueueSize() {
+            return indoorQueueSizes[row];
+        }
+
+        public int serviceQueueSize() {
+            return serviceQueueSizes[row];
+        }
+
+        public String queues() {
+            int outdoor = outdoorQueueSizes[row];
+            if (outdoor < 0) {
+                return dictionary[~outdoor];
+            }
+            return "O:" + outdoor + " | I:" + indoorQueueSizes[row] + " | S:" + serviceQueueSizes[row];
+        }
+
+        public String action() {
+            return dictionary[actions[row]];
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        if (data[0] != VERSION)
+            throw new IllegalStateException("Unsupported event trace version " + data[0]);
+
+        if ((data[1] & FLAG_COMPRESSED) == 0) {
+            byte[] body = new byte[data.length - 2];
+            System.arraycopy(data, 2, body, 0, body.length);
+            return body;
+        }
+
+        Reader header = new Reader(data);
+        header.position = 2;
+        byte[] body = new byte[(int) header.readVarLong()];
+        Inflater inflater = new Inflater();
+        inflater.setInput(data, header.position, data.length - header.position);
+        try {
+            int length = 0;
+            while (length < body.length && !inflater.finished()) {
+                length += inflater.inflate(body, length, body.length - length);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted event trace", e);
+        } finally {
+            inflater.end();
+        }
+        return body;
+    }
+
+    // Returns the customer id of a "Cust#<id>" label, or -1 for any other label
+    private static int parseCustomerId(String customer) {
+        if (customer == null || !customer.startsWith(CUSTOMER_PREFIX)) return -1;
+        int value = parseNumber(customer, CUSTOMER_PREFIX.length(), customer.length());
+        // Only labels that format back exactly are stored as numbers
+        return value >= 0 && customer.equals(CUSTOMER_PREFIX + value) ? value : -1;
+    }
+
+    // Returns the sizes of an "O:<n> | I:<n> | S:<n>" label, or null for any other label
+    private static int[] parseQueueSizes(String queues) {
+        if (queues == null || !queues.startsWith("O:")) return null;
+        int indoorStart = queues.indexOf(" | I:");
+        int serviceStart = queues.indexOf(" | S:");
+        if (indoorStart < 0 || serviceStart < indoorStart) return null;
+
+        int[] sizes = {
+                parseNumber(queues, 2, indoorStart),
+                parseNumber(queues, indoorStart + 5, serviceStart),
+                parseNumber(queues, serviceStart + 5, queues.length())
+        };
+        if (sizes[0] < 0 || sizes[1] < 0 || sizes[2] < 0) return null;
+        String formatted = "O:" + sizes[0] + " | I:" + sizes[1] + " | S:" + sizes[2];
+        return formatted.equals(queues) ? sizes : null;
+    }
+
+    private static int parseNumber(String text, int from, int to) {
+        if (from >= to || to - from > 9) return -1;
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Bytes extends ByteArrayOutputStream {
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeTo(Bytes other) {
+            write(other.buf, 0, other.count);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position = 0;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
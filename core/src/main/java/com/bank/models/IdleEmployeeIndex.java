@@ -0,0 +1,114 @@
+package com.bank.models;
+
+import java.util.Arrays;
+
+/**
+ * Tracks which employees of a pool (numbered {@code 0..size-1}) are idle so that any selection policy finds one in
+ * constant time without allocating:
+ * <ul>
+ *     <li>a bitset answers "first idle" with a word scan,</li>
+ *     <li>a linked list in the order employees became idle answers "longest idle",</li>
+ *     <li>a dense array of idle employees answers "random idle".</li>
+ * </ul>
+ */
+public class IdleEmployeeIndex {
+    private final int size;
+    private final long[] idleBits;
+
+    // Idle employees from longest to most recently idle, linked through prev/next (-1 terminates)
+    private final int[] prev;
+    private final int[] next;
+    private int head;
+    private int tail;
+
+    // Idle employees in no particular order, and the slot of each employee in that array
+    private final int[] dense;
+    private final int[] denseSlot;
+    private int idleCount;
+
+    public IdleEmployeeIndex(int size) {
+        this.size = size;
+        this.idleBits = new long[(size + 63) >>> 6];
+        this.prev = new int[size];
+        this.next = new int[size];
+        this.dense = new int[size];
+        this.denseSlot = new int[size];
+        reset();
+    }
+
+    /**
+     * Marks every employee idle, longest idle in index order.
+     */
+    public void reset() {
+        Arrays.fill(idleBits, 0);
+        for (int e = 0; e < size; e++) {
+            idleBits[e >>> 6] |= 1L << e;
+            prev[e] = e - 1;
+            next[e] = e + 1 < size ? e + 1 : -1;
+            dense[e] = e;
+            denseSlot[e] = e;
+        }
+        head = size > 0 ? 0 : -1;
+        tail = size - 1;
+        idleCount = size;
+    }
+
+    public void markBusy(int e) {
+        if (!isIdle(e)) return;
+        idleBits[e >>> 6] &= ~(1L << e);
+
+        if (prev[e] >= 0) next[prev[e]] = next[e]; else head = next[e];
+        if (next[e] >= 0) prev[next[e]] = prev[e]; else tail = prev[e];
+
+        int last = dense[--idleCount];
+        dense[denseSlot[e]] = last;
+        denseSlot[last] = denseSlot[e];
+    }
+
+    public void markIdle(int e) {
+        if (isIdle(e)) return;
+        idleBits[e >>> 6] |= 1L << e;
+
+        prev[e] = tail;
+        next[e] = -1;
+        if (tail >= 0) next[tail] = e; else head = e;
+        tail = e;
+
+        dense[idleCount] = e;
+        denseSlot[e] = idleCount++;
+    }
+
+    public boolean isIdle(int e) {
+        return (idleBits[e >>> 6] & (1L << e)) != 0;
+    }
+
+    public int idleCount() {
+        return idleCount;
+    }
+
+    /**
+     * @return the lowest numbered idle employee, or -1 if all are busy
+     */
+    public int first() {
+        for (int w = 0; w < idleBits.length; w++) {
+            if (idleBits[w] != 0) return (w << 6) + Long.numberOfTrailingZeros(idleBits[w]);
+        }
+        return -1;
+    }
+
+    /**
+     * @return the employee idle for the longest time, or -1 if all are busy
+     */
+    public int longestIdle() {
+        return head;
+    }
+
+    /**
+     * @param uniform a uniform draw in [0, 1)
+     * @return an idle employee picked by {@code uniform}, or -1 if all are busy
+     */
+    public int random(double uniform) {
+        if (idleCount == 0) return -1;
+        return dense[Math.min((int) (uniform * idleCount), idleCount - 1)];
+    }
+}
@@ -0,0 +1,93 @@
+package com.bank.models;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+public class ProbabilityDistribution {
+    // Up to this many bins a straight scan over the bounds beats the binary search
+    private static final int LINEAR_SCAN_MAX_BINS = 8;
+
+    private final Map<Integer, Double> probabilities;
+    private final ArrayList<Range> ranges;
+
+    // Compiled form of `ranges`: the upper bound and value of every range, in the same order
+    private final double[] upperBounds;
+    private final int[] values;
+
+    public ProbabilityDistribution(Map<Integer, Double> probabilities) {
+        this.probabilities = probabilities;
+        this.ranges = updateProbabilityRanges();
+
+        this.upperBounds = new double[ranges.size()];
+        this.values = new int[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++) {
+            upperBounds[i] = ranges.get(i).high();
+            values[i] = ranges.get(i).value();
+        }
+    }
+
+    private ArrayList<Range> updateProbabilityRanges() {
+        ArrayList<Range> ranges = new ArrayList<>();
+        double lastProbability = 0.0;
+        for (var entry : probabilities.entrySet()) {
+            // No need to add onto the last probability because it'll be avoided due to findFirst being used
+            ranges.add(new Range(lastProbability , lastProbability + entry.getValue(), entry.getKey()));
+            lastProbability += entry.getValue();
+        }
+
+        if (lastProbability > 1)
+            throw new ArithmeticException("Probability distribution is out of range");
+
+        return ranges;
+    }
+
+    /**
+     * Maps a uniform draw onto the distribution. Ranges are contiguous and share their bounds, so the first range
+     * containing {@code probability} is the first one whose upper bound is not below it.
+     *
+     * @throws NoSuchElementException if no range contains {@code probability}
+     */
+    public int getProbabilityValue(double probability) {
+        int index = values.length <= LINEAR_SCAN_MAX_BINS
+                ? scanUpperBounds(probability)
+                : searchUpperBounds(probability);
+
+        if (index == values.length || !(probability >= 0.0))
+            throw new NoSuchElementException("No value found for probability " + probability);
+
+        return values[index];
+    }
+
+    private int scanUpperBounds(double probability) {
+        int i = 0;
+        while (i < upperBounds.length && upperBounds[i] < probability) i++;
+        return i;
+    }
+
+    private int searchUpperBounds(double probability) {
+        int base = 0;
+        int length = upperBounds.length;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = upperBounds[base + half] < probability ? base + half : base;
+            length -= half;
+        }
+        return upperBounds[base] < probability ? base + 1 : base;
+    }
+
+    /**
+     * @return the largest value the distribution can produce, 0 if it has none
+     */
+    public int getMaxValue() {
+        int max = 0;
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    public Map<Integer, Double> getProbabilities() {
+        return probabilities;
+    }
+}
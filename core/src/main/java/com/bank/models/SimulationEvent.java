@@ -3,7 +3,8 @@ package com.bank.models;
 public class SimulationEvent implements Comparable<SimulationEvent> {
     @Override
     public int compareTo(SimulationEvent o) {
-        return this.time - o.time ;
+        int byTime = Integer.compare(this.time, o.time);
+        return byTime != 0 ? byTime : Long.compare(this.sequence, o.sequence);
     }
 
     public enum Type {
@@ -15,6 +16,8 @@ public class SimulationEvent implements Comparable<SimulationEvent> {
     private final int time;
     private final Customer customer;
     private Employee employee;
+    // Insertion order within the event calendar, breaks ties between events at the same time
+    private long sequence;
 
     public SimulationEvent(Type type, int time, Customer customer) {
         this.type = type;
@@ -43,6 +46,14 @@ public class SimulationEvent implements Comparable<SimulationEvent> {
         return employee;
     }
 
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
     @Override
     public String toString() {
         return "Event{" +
@@ -0,0 +1,62 @@
+package com.bank.models;
+
+/**
+ * One event of an observed day. The description is only formatted when asked for.
+ *
+ * @param run  zero based simulation run the event belongs to
+ * @param day  zero based day within that run
+ */
+public record SimulationEventRecord(
+        Action action,
+        SimulationEvent event,
+        int serviceTime,
+        int departureTime,
+        int indoorTellerQueueSize,
+        int outdoorTellerQueueSize,
+        int serviceEmployeeQueueSize,
+        int currentTime,
+        int run,
+        int day
+) {
+    public enum Type {
+        ARRIVE,
+        DEPART,
+        NEXT,
+        QUEUE,
+        SERVE,
+        ROUTE
+    }
+
+    public enum Action {
+        CUSTOMER_ARRIVED(Type.ARRIVE, "Customer arrived"),
+        REROUTED_INDOOR(Type.ROUTE, "Outdoor queue full → reroute indoor"),
+        JOINED_OUTDOOR_QUEUE(Type.QUEUE, "Joined outdoor queue"),
+        JOINED_INDOOR_QUEUE(Type.QUEUE, "Joined indoor teller queue"),
+        JOINED_SERVICE_QUEUE(Type.QUEUE, "Joined service employee queue"),
+        SERVICE_STARTED(Type.SERVE, "Service started (serviceTime=%d, depart=%d)"),
+        SERVICE_COMPLETED(Type.DEPART, "Service completed"),
+        NEXT_CUSTOMER(Type.NEXT, "Next customer begins service");
+
+        private final Type type;
+        private final String description;
+
+        Action(Type type, String description) {
+            this.type = type;
+            this.description = description;
+        }
+
+        public Type getType() {
+            return type;
+        }
+    }
+
+    public Type type() {
+        return action.type;
+    }
+
+    public String description() {
+        return action == Action.SERVICE_STARTED
+                ? String.format(action.description, serviceTime, departureTime)
+                : action.description;
+    }
+}
@@ -0,0 +1,270 @@
+package com.bank.models;
+
+import com.bank.simulation.LatencyHistogram;
+import com.bank.simulation.SimulationData;
+import com.bank.simulation.SimulationMetrics;
+import com.bank.simulation.TimeOfDayProfile;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+public class SimulationHistoryRecord implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+    private LocalDateTime timestamp;
+    // Only set in records saved before event traces, which still deserialize into it
+    private List<EventRow> events;
+    private EventTrace eventTrace;
+    // Null in records saved before studies were replayable
+    private Long masterSeed;
+    private String rngAlgorithm;
+    // Null in records saved before the arrival mode was kept, all of which streamed their arrivals
+    private Boolean streamingArrivals;
+    // Only set in records saved before metrics were kept as numbers, converted on first read
+    private List<SimulationData.Statistic> firstDayStats;
+    private List<SimulationData.Statistic> totalStats;
+    private SimulationMetrics firstDayMetrics;
+    private SimulationMetrics totalMetrics;
+    private final SimulationConfigSnapshot configSnapshot;
+    private final SimulationParams simulationParams;
+    // Histograms of the whole study by queue, null in records saved before they were kept
+    private Map<String, LatencyHistogram> waitTimeHistograms;
+    private Map<String, LatencyHistogram> sojournTimeHistograms;
+    private Map<String, LatencyHistogram> serviceTimeHistograms;
+    // Null in records saved before the load by time of day was kept
+    private TimeOfDayProfile timeOfDayProfile;
+
+    public SimulationHistoryRecord(
+            LocalDateTime timestamp,
+            long masterSeed,
+            String rngAlgorithm,
+            boolean streamingArrivals,
+            SimulationMetrics firstDayMetrics,
+            SimulationMetrics totalMetrics,
+            SimulationConfigSnapshot configSnapshot,
+            SimulationParams simulationParams
+    ) {
+        this.id = UUID.randomUUID().toString();
+        this.timestamp = timestamp == null ? LocalDateTime.now() : timestamp;
+        this.masterSeed = masterSeed;
+        this.rngAlgorithm = rngAlgorithm;
+        this.streamingArrivals = streamingArrivals;
+        this.firstDayMetrics = firstDayMetrics;
+        this.totalMetrics = totalMetrics;
+        this.configSnapshot = configSnapshot;
+        this.simulationParams = simulationParams;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return the master seed the study ran with, or null if the record predates replayable studies
+     */
+    public Long getMasterSeed() {
+        return masterSeed;
+    }
+
+    public String getRngAlgorithm() {
+        return rngAlgorithm;
+    }
+
+    /**
+     * @return whether the study streamed its arrivals, which a replay must match to regenerate the same days
+     */
+    public boolean isStreamingArrivals() {
+        return streamingArrivals == null || streamingArrivals;
+    }
+
+    /**
+     * @return the first day's events as recorded by studies saved before they could be replayed, or null if the
+     * record only keeps its seed
+     */
+    public EventTrace getEventTrace() {
+        if (eventTrace == null && events != null) {
+            eventTrace = EventTrace.of(events);
+            events = null;
+        }
+        return eventTrace;
+    }
+
+    public SimulationMetrics getFirstDayMetrics() {
+        if (firstDayMetrics == null && firstDayStats != null) {
+            firstDayMetrics = SimulationMetrics.fromStatistics(firstDayStats);
+            firstDayStats = null;
+        }
+        return firstDayMetrics;
+    }
+
+    public SimulationMetrics getTotalMetrics() {
+        if (totalMetrics == null && totalStats != null) {
+            totalMetrics = SimulationMetrics.fromStatistics(totalStats);
+            totalStats = null;
+        }
+        return totalMetrics;
+    }
+
+    public SimulationConfigSnapshot getConfigSnapshot() {
+        return configSnapshot;
+    }
+
+    public SimulationParams getSimulationParams() {
+        return simulationParams;
+    }
+
+    public void setHistograms(
+            Map<String, LatencyHistogram> waitTimeHistograms,
+            Map<String, LatencyHistogram> sojournTimeHistograms,
+            Map<String, LatencyHistogram> serviceTimeHistograms
+    ) {
+        this.waitTimeHistograms = new LinkedHashMap<>(waitTimeHistograms);
+        this.sojournTimeHistograms = new LinkedHashMap<>(sojournTimeHistograms);
+        this.serviceTimeHistograms = new LinkedHashMap<>(serviceTimeHistograms);
+    }
+
+    public boolean hasHistograms() {
+        return waitTimeHistograms != null;
+    }
+
+    public Map<String, LatencyHistogram> getWaitTimeHistograms() {
+        return waitTimeHistograms;
+    }
+
+    public Map<String, LatencyHistogram> getSojournTimeHistograms() {
+        return sojournTimeHistograms;
+    }
+
+    public Map<String, LatencyHistogram> getServiceTimeHistograms() {
+        return serviceTimeHistograms;
+    }
+
+    public TimeOfDayProfile getTimeOfDayProfile() {
+        return timeOfDayProfile;
+    }
+
+    public void setTimeOfDayProfile(TimeOfDayProfile timeOfDayProfile) {
+        this.timeOfDayProfile = timeOfDayProfile;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SimulationHistoryRecord that = (SimulationHistoryRecord) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public record EventRow(
+            int time,
+            String type,
+            String customer,
+            String service,
+            String employee,
+            String queues,
+            String action
+    ) implements Serializable {
+        private static final long serialVersionUID = 1L;
+    }
+
+    public static class SimulationConfigSnapshot implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final int outdoorQueueCapacity;
+        private final double cashCustomerProbability;
+        private final Map<Integer, Double> timeBetweenArrivalProbabilities;
+        private final List<EmployeeConfigSnapshot> employees;
+        // Null in records saved before the policy was configurable
+        private EmployeeSelectionPolicy employeeSelectionPolicy;
+
+        public SimulationConfigSnapshot(
+                int outdoorQueueCapacity,
+                double cashCustomerProbability,
+                Map<Integer, Double> timeBetweenArrivalProbabilities,
+                List<EmployeeConfigSnapshot> employees,
+                EmployeeSelectionPolicy employeeSelectionPolicy
+        ) {
+            this.outdoorQueueCapacity = outdoorQueueCapacity;
+            this.cashCustomerProbability = cashCustomerProbability;
+            this.timeBetweenArrivalProbabilities = new LinkedHashMap<>(timeBetweenArrivalProbabilities);
+            this.employees = new ArrayList<>(employees);
+            this.employeeSelectionPolicy = employeeSelectionPolicy;
+        }
+
+        public int getOutdoorQueueCapacity() {
+            return outdoorQueueCapacity;
+        }
+
+        public double getCashCustomerProbability() {
+            return cashCustomerProbability;
+        }
+
+        public Map<Integer, Double> getTimeBetweenArrivalProbabilities() {
+            return new LinkedHashMap<>(timeBetweenArrivalProbabilities);
+        }
+
+        public List<EmployeeConfigSnapshot> getEmployees() {
+            return new ArrayList<>(employees);
+        }
+
+        public EmployeeSelectionPolicy getEmployeeSelectionPolicy() {
+            return employeeSelectionPolicy == null ? EmployeeSelectionPolicy.FIRST_IDLE : employeeSelectionPolicy;
+        }
+    }
+
+    public static class EmployeeConfigSnapshot implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String area;
+        private final String type;
+        private final String id;
+        private final Map<Integer, Double> serviceTimeProbabilities;
+
+        public EmployeeConfigSnapshot(String area, String type, String id, Map<Integer, Double> serviceTimeProbabilities) {
+            this.area = area;
+            this.type = type;
+            this.id = id;
+            this.serviceTimeProbabilities = new LinkedHashMap<>(serviceTimeProbabilities);
+        }
+
+        public String getArea() {
+            return area;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Map<Integer, Double> getServiceTimeProbabilities() {
+            return new LinkedHashMap<>(serviceTimeProbabilities);
+        }
+    }
+
+    public record SimulationParams(int simulationDays, int simulationCustomers, int simulationRuns)
+            implements Serializable {
+        private static final long serialVersionUID = 1L;
+    }
+}
+
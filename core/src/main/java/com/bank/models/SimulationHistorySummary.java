@@ -0,0 +1,33 @@
+package com.bank.models;
+
+import com.bank.simulation.Metric;
+import com.bank.simulation.SimulationMetrics;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the history list shows about a saved simulation, kept apart from the full record so the list can be built
+ * without loading any events.
+ */
+public record SimulationHistorySummary(
+        String id,
+        LocalDateTime timestamp,
+        SimulationHistoryRecord.SimulationParams simulationParams,
+        SimulationMetrics headlineMetrics
+) {
+    public static final Metric[] HEADLINE_METRICS = {
+            Metric.AVG_TOTAL_WAIT,
+            Metric.AVG_CASH_SERVICE_TIME,
+            Metric.AVG_SERVICE_SERVICE_TIME
+    };
+
+    public static SimulationHistorySummary of(SimulationHistoryRecord record) {
+        SimulationMetrics totalMetrics = record.getTotalMetrics();
+        return new SimulationHistorySummary(
+                record.getId(),
+                record.getTimestamp(),
+                record.getSimulationParams(),
+                totalMetrics == null ? new SimulationMetrics() : totalMetrics.select(HEADLINE_METRICS)
+        );
+    }
+}
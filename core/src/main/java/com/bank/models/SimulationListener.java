@@ -0,0 +1,16 @@
+package com.bank.models;
+
+import java.util.List;
+
+public interface SimulationListener {
+    void onEvent(SimulationEventRecord eventRecord);
+
+    /**
+     * Receives a batch of consecutive events. The list is reused for the next batch, so it must not be kept.
+     */
+    default void onEvents(List<SimulationEventRecord> eventRecords) {
+        for (SimulationEventRecord eventRecord : eventRecords) {
+            onEvent(eventRecord);
+        }
+    }
+}
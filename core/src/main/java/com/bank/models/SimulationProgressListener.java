@@ -0,0 +1,13 @@
+package com.bank.models;
+
+import com.bank.simulation.SimulationData;
+
+/**
+ * Follows a study while it runs. Called from the simulation threads, so implementations must hand anything UI related
+ * over to the right thread themselves.
+ */
+public interface SimulationProgressListener {
+    void onFirstDayFinished(SimulationData firstDayStats);
+
+    void onReplicationFinished(int completedReplications, int totalReplications);
+}
@@ -0,0 +1,111 @@
+package com.bank.simulation;
+
+import com.bank.models.SimulationEvent;
+
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+
+/**
+ * Calendar queue for integer time. The buckets cover a sliding window of consecutive times starting at the current
+ * time, one time per bucket, and each bucket is a FIFO, so adding and polling are amortized O(1). Events beyond the
+ * window fall back to a heap and move into their bucket once the window reaches them.
+ */
+public class BucketEventCalendar implements EventCalendar {
+    public static final int DEFAULT_WINDOW = 64;
+
+    private final ArrayDeque<SimulationEvent>[] buckets;
+    private final int mask;
+    private final PriorityQueue<SimulationEvent> overflow = new PriorityQueue<>();
+
+    private int windowStart = 0;
+    private int windowCount = 0;
+    private long nextSequence = 0;
+
+    public BucketEventCalendar() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param window number of consecutive times held in buckets, rounded up to a power of two
+     */
+    public BucketEventCalendar(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("`window` must be positive");
+        }
+        int size = Integer.highestOneBit(window);
+        if (size < window) size <<= 1;
+
+        @SuppressWarnings("unchecked")
+        ArrayDeque<SimulationEvent>[] created = (ArrayDeque<SimulationEvent>[]) new ArrayDeque<?>[size];
+        buckets = created;
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        mask = size - 1;
+    }
+
+    @Override
+    public void add(SimulationEvent event) {
+        int time = event.getTime();
+        if (time < windowStart) {
+            throw new IllegalArgumentException("Event at " + time + " is before the current time " + windowStart);
+        }
+
+        event.setSequence(nextSequence++);
+        if (time - windowStart < buckets.length) {
+            buckets[time & mask].addLast(event);
+            windowCount++;
+        } else {
+            overflow.add(event);
+        }
+    }
+
+    @Override
+    public SimulationEvent poll() {
+        if (windowCount == 0) {
+            if (overflow.isEmpty()) return null;
+            // Nothing left in the window, jump straight to the next event instead of walking empty buckets
+            windowStart = overflow.peek().getTime();
+            pullOverflowIntoWindow();
+        }
+
+        while (buckets[windowStart & mask].isEmpty()) {
+            windowStart++;
+            pullOverflowIntoWindow();
+        }
+
+        windowCount--;
+        return buckets[windowStart & mask].pollFirst();
+    }
+
+    // Overflow events are taken in (time, sequence) order and always before anything can be added directly to
+    // their bucket, which keeps every bucket in sequence order.
+    private void pullOverflowIntoWindow() {
+        while (!overflow.isEmpty() && overflow.peek().getTime() - windowStart < buckets.length) {
+            SimulationEvent event = overflow.poll();
+            buckets[event.getTime() & mask].addLast(event);
+            windowCount++;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return windowCount == 0 && overflow.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return windowCount + overflow.size();
+    }
+
+    @Override
+    public void clear() {
+        for (ArrayDeque<SimulationEvent> bucket : buckets) {
+            bucket.clear();
+        }
+        overflow.clear();
+        windowStart = 0;
+        windowCount = 0;
+        nextSequence = 0;
+    }
+}
@@ -0,0 +1,330 @@
+package com.bank.simulation;
+
+import com.bank.models.CustomerQueue;
+import com.bank.models.EmployeeData;
+import com.bank.models.IdleEmployeeIndex;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Allocation-free counterpart of {@link SimulationReplication} for days that nobody observes. Employees, queues and
+ * pending events all live in primitive arrays that are reused from one day to the next, so once the arrays have grown
+ * to the size of a day, running another day allocates nothing. A customer is only the payload of its pending arrival
+ * and then an entry of a line, so with streaming arrivals the memory follows the customers in the bank, not the
+ * customers of the day.
+ * <p>
+ * It follows exactly the same rules, random draws and event order as {@link SimulationReplication}, so a day run
+ * here produces the same {@link SimulationData} as the object engine with the same seed.
+ */
+class CompactReplication {
+    private static final int OUTDOOR = 0;
+    private static final int INDOOR = 1;
+    private static final int SERVICE = 2;
+
+    // Payloads of pending arrivals, departures are ~employee
+    private static final int SERVICE_ARRIVAL = 0;
+    private static final int CASH_ARRIVAL = 1;
+
+    private final SimulationModel model;
+    private final int customersCount;
+    private final boolean streamingArrivals;
+
+    private final ReplicationRandom arrivalRand = new ReplicationRandom(0);
+    private final ReplicationRandom serviceRand = new ReplicationRandom(0);
+    private final ReplicationRandom routingRand = new ReplicationRandom(0);
+
+    // Employees of all pools, outdoor tellers first, then indoor tellers, then service employees
+    private final EmployeeData[] employeeData;
+    private final int[] employeePool;
+    private final int[] employeeLastEventTime;
+    private final int[] employeeTotalIdle;
+    private final int[] poolStart = new int[3];
+    private final int[] poolEnd = new int[3];
+    private final IdleEmployeeIndex[] idleEmployees = new IdleEmployeeIndex[3];
+
+    // One line per pool of customer indices, by arrival order
+    private final CustomerQueue[] queues = {new CustomerQueue(), new CustomerQueue(), new CustomerQueue()};
+
+    // Binary min-heap of pending events. Keys pack (time, sequence) so ties come out in insertion order, payloads are
+    // the customer type for arrivals and ~employee for departures.
+    private long[] eventKeys = new long[16];
+    private int[] eventPayloads = new int[16];
+    private int eventCount;
+    private int nextSequence;
+
+    private final SimulationData currentStats = new SimulationData();
+    private int currentTime;
+    private int lastArrivalTime;
+    private int scheduledCustomers;
+    private int arrivedCustomers;
+
+    CompactReplication(
+            SimulationModel model,
+            int customersCount,
+            boolean streamingArrivals
+    ) {
+        this.model = model;
+        this.customersCount = customersCount;
+        this.streamingArrivals = streamingArrivals;
+
+        int employeesCount = model.getOutdoorTellers().size() + model.getIndoorTellers().size()
+                + model.getServiceEmployees().size();
+        employeeData = new EmployeeData[employeesCount];
+        employeePool = new int[employeesCount];
+        employeeLastEventTime = new int[employeesCount];
+        employeeTotalIdle = new int[employeesCount];
+
+        int next = addPool(OUTDOOR, model.getOutdoorTellers(), 0);
+        next = addPool(INDOOR, model.getIndoorTellers(), next);
+        addPool(SERVICE, model.getServiceEmployees(), next);
+    }
+
+    private int addPool(int pool, List<EmployeeData> data, int start) {
+        poolStart[pool] = start;
+        for (EmployeeData e : data) {
+            employeeData[start] = e;
+            employeePool[start] = pool;
+            start++;
+        }
+        poolEnd[pool] = start;
+        idleEmployees[pool] = new IdleEmployeeIndex(data.size());
+        return start;
+    }
+
+    /**
+     * Runs one day. The returned statistics object is owned by this replication and overwritten by the next call.
+     */
+    SimulationData run(long seed) {
+        arrivalRand.setSeed(seed);
+        serviceRand.setSeed(ReplicationRandom.serviceSeed(seed));
+        routingRand.setSeed(ReplicationRandom.routingSeed(seed));
+
+        currentTime = 0;
+        lastArrivalTime = 0;
+        scheduledCustomers = 0;
+        arrivedCustomers = 0;
+        currentStats.reset();
+        eventCount = 0;
+        nextSequence = 0;
+        for (CustomerQueue queue : queues) {
+            queue.clear();
+        }
+        for (IdleEmployeeIndex idle : idleEmployees) {
+            idle.reset();
+        }
+        Arrays.fill(employeeLastEventTime, 0);
+        Arrays.fill(employeeTotalIdle, 0);
+
+        if (streamingArrivals) {
+            if (customersCount > 0) scheduleNextArrival();
+        } else {
+            while (scheduledCustomers < customersCount) scheduleNextArrival();
+        }
+
+        while (eventCount > 0) {
+            currentTime = (int) (eventKeys[0] >>> 32);
+            int payload = pollEvent();
+
+            if (payload >= 0) {
+                handleArrival(payload);
+            } else {
+                handleDeparture(~payload);
+            }
+            currentStats.timeOfDay.advance(currentTime, queuedCustomers(), busyEmployees());
+        }
+
+        currentStats.totalTime = currentTime;
+        currentStats.timeOfDay.finishDay(currentTime, employeeData.length);
+        currentStats.totalOutdoorTellerIdleTime = closeIdleTime(OUTDOOR);
+        currentStats.totalIndoorTellerIdleTime = closeIdleTime(INDOOR);
+        currentStats.totalServiceEmployeeIdleTime = closeIdleTime(SERVICE);
+
+        currentStats.maxOutdoorTellerQueueSize = queues[OUTDOOR].getMaxSize();
+        currentStats.maxIndoorTellerQueueSize = queues[INDOOR].getMaxSize();
+        currentStats.maxServiceEmployeeQueueSize = queues[SERVICE].getMaxSize();
+        currentStats.totalOutdoorTellerQueueArea = queues[OUTDOOR].getArea(currentTime);
+        currentStats.totalIndoorTellerQueueArea = queues[INDOOR].getArea(currentTime);
+        currentStats.totalServiceEmployeeQueueArea = queues[SERVICE].getArea(currentTime);
+
+        currentStats.indoorTellersCount = poolEnd[INDOOR] - poolStart[INDOOR];
+        currentStats.outdoorTellersCount = poolEnd[OUTDOOR] - poolStart[OUTDOOR];
+        currentStats.serviceEmployeesCount = poolEnd[SERVICE] - poolStart[SERVICE];
+
+        return currentStats;
+    }
+
+    private int queuedCustomers() {
+        return queues[OUTDOOR].size() + queues[INDOOR].size() + queues[SERVICE].size();
+    }
+
+    private int busyEmployees() {
+        return employeeData.length - idleEmployees[OUTDOOR].idleCount() - idleEmployees[INDOOR].idleCount()
+                - idleEmployees[SERVICE].idleCount();
+    }
+
+    private long closeIdleTime(int pool) {
+        long total = 0;
+        for (int e = poolStart[pool]; e < poolEnd[pool]; e++) {
+            employeeTotalIdle[e] += currentTime - employeeLastEventTime[e];
+            total += employeeTotalIdle[e];
+        }
+        return total;
+    }
+
+    private void scheduleNextArrival() {
+        int timeBetweenCustomer = model.getTimeBetweenArrivalDistribution().getProbabilityValue(arrivalRand.nextDouble());
+        int arrivalTime = lastArrivalTime + timeBetweenCustomer;
+
+        currentStats.totalInterArrivalTime += timeBetweenCustomer;
+
+        scheduledCustomers++;
+        boolean cash = arrivalRand.nextDouble() <= model.getCashCustomerProbability();
+
+        addEvent(arrivalTime, cash ? CASH_ARRIVAL : SERVICE_ARRIVAL);
+
+        lastArrivalTime = arrivalTime;
+    }
+
+    private void handleArrival(int type) {
+        // Arrivals come out of the heap in the order they were drawn
+        int customer = arrivedCustomers++;
+        if (streamingArrivals && scheduledCustomers < customersCount) {
+            scheduleNextArrival();
+        }
+        currentStats.timeOfDay.recordArrival(currentTime);
+
+        if (type == CASH_ARRIVAL) {
+            if (queues[OUTDOOR].size() >= model.getOutdoorQueueCapacity()) {
+                routeTo(INDOOR, customer);
+            } else {
+                routeTo(OUTDOOR, customer);
+            }
+        } else {
+            routeTo(SERVICE, customer);
+        }
+    }
+
+    private void routeTo(int pool, int customer) {
+        int employee = findIdleEmployee(pool);
+        if (employee >= 0) {
+            serveCustomer(currentTime, employee);
+        } else {
+            queues[pool].offer(customer, currentTime);
+            switch (pool) {
+                case OUTDOOR -> currentStats.totalOutdoorTellerWaitingCustomers++;
+                case INDOOR -> currentStats.totalIndoorTellerWaitingCustomers++;
+                default -> currentStats.totalServiceEmployeeWaitingCustomers++;
+            }
+        }
+
+        switch (pool) {
+            case OUTDOOR -> currentStats.totalOutdoorTellerCustomers++;
+            case INDOOR -> currentStats.totalIndoorTellerCustomers++;
+            default -> currentStats.totalServiceEmployeeCustomers++;
+        }
+    }
+
+    private int findIdleEmployee(int pool) {
+        IdleEmployeeIndex idle = idleEmployees[pool];
+        int e = switch (model.getEmployeeSelectionPolicy()) {
+            case FIRST_IDLE -> idle.first();
+            case LONGEST_IDLE -> idle.longestIdle();
+            case RANDOM_IDLE -> idle.idleCount() == 0 ? -1 : idle.random(routingRand.nextDouble());
+        };
+        return e < 0 ? -1 : poolStart[pool] + e;
+    }
+
+    private void serveCustomer(int arrivalTime, int employee) {
+        int pool = employeePool[employee];
+        idleEmployees[pool].markBusy(employee - poolStart[pool]);
+        employeeTotalIdle[employee] += currentTime - employeeLastEventTime[employee];
+
+        int serviceTime = employeeData[employee].getServiceTime(serviceRand.nextDouble());
+        int departureTime = currentTime + serviceTime;
+        int waitTime = currentTime - arrivalTime;
+        currentStats.timeOfDay.recordWait(arrivalTime, waitTime);
+
+        switch (pool) {
+            case OUTDOOR -> {
+                currentStats.totalCashServiceTime += serviceTime;
+                currentStats.totalOutdoorTellerWaitTime += waitTime;
+                currentStats.totalOutdoorTellerBusyTime += serviceTime;
+                currentStats.outdoorTellerWaitTimes.record(waitTime);
+                currentStats.outdoorTellerSojournTimes.record(waitTime + serviceTime);
+                currentStats.outdoorTellerServiceTimes.record(serviceTime);
+            }
+            case INDOOR -> {
+                currentStats.totalCashServiceTime += serviceTime;
+                currentStats.totalIndoorTellerWaitTime += waitTime;
+                currentStats.totalIndoorTellerBusyTime += serviceTime;
+                currentStats.indoorTellerWaitTimes.record(waitTime);
+                currentStats.indoorTellerSojournTimes.record(waitTime + serviceTime);
+                currentStats.indoorTellerServiceTimes.record(serviceTime);
+            }
+            default -> {
+                currentStats.totalServiceServiceTime += serviceTime;
+                currentStats.totalServiceWaitTime += waitTime;
+                currentStats.totalServiceEmployeeBusyTime += serviceTime;
+                currentStats.serviceEmployeeWaitTimes.record(waitTime);
+                currentStats.serviceEmployeeSojournTimes.record(waitTime + serviceTime);
+                currentStats.serviceEmployeeServiceTimes.record(serviceTime);
+            }
+        }
+
+        addEvent(departureTime, ~employee);
+    }
+
+    private void handleDeparture(int employee) {
+        int pool = employeePool[employee];
+        idleEmployees[pool].markIdle(employee - poolStart[pool]);
+        employeeLastEventTime[employee] = currentTime;
+
+        CustomerQueue queue = queues[pool];
+        if (!queue.isEmpty()) {
+            // Customers join a line the moment they arrive
+            int arrivalTime = queue.peekEntryTime();
+            queue.poll(currentTime);
+            serveCustomer(arrivalTime, employee);
+        }
+    }
+
+    private void addEvent(int time, int payload) {
+        if (eventCount == eventKeys.length) {
+            eventKeys = Arrays.copyOf(eventKeys, eventCount * 2);
+            eventPayloads = Arrays.copyOf(eventPayloads, eventCount * 2);
+        }
+        long key = ((long) time << 32) | (nextSequence++ & 0xFFFFFFFFL);
+
+        int i = eventCount++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (eventKeys[parent] <= key) break;
+            eventKeys[i] = eventKeys[parent];
+            eventPayloads[i] = eventPayloads[parent];
+            i = parent;
+        }
+        eventKeys[i] = key;
+        eventPayloads[i] = payload;
+    }
+
+    private int pollEvent() {
+        int payload = eventPayloads[0];
+        long key = eventKeys[--eventCount];
+        int movedPayload = eventPayloads[eventCount];
+
+        int i = 0;
+        int half = eventCount >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < eventCount && eventKeys[child + 1] < eventKeys[child]) child++;
+            if (key <= eventKeys[child]) break;
+            eventKeys[i] = eventKeys[child];
+            eventPayloads[i] = eventPayloads[child];
+            i = child;
+        }
+        eventKeys[i] = key;
+        eventPayloads[i] = movedPayload;
+        return payload;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.simulation;
+
+import com.bank.models.SimulationEvent;
+
+/**
+ * Pending events of a replication, handed out in time order. Events scheduled for the same time come out in the
+ * order they were added, so a run never depends on how an implementation breaks ties.
+ */
+public interface EventCalendar {
+    void add(SimulationEvent event);
+
+    /**
+     * @return the earliest pending event, or {@code null} if there is none
+     */
+    SimulationEvent poll();
+
+    boolean isEmpty();
+
+    int size();
+
+    /**
+     * Drops all pending events and restarts the clock and tie-breaking sequence at zero.
+     */
+    void clear();
+}
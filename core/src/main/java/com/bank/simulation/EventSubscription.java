@@ -0,0 +1,62 @@
+package com.bank.simulation;
+
+import com.bank.models.SimulationEventRecord;
+
+import java.util.Arrays;
+
+/**
+ * What a listener wants to hear about: which event types, from which replications, and how the bus treats it when
+ * it falls behind. Events nobody subscribed to are never recorded.
+ */
+public record EventSubscription(
+        int typeMask,
+        ReplicationFilter replications,
+        SimulationEventBus.Backpressure backpressure,
+        int sampleInterval
+) {
+    @FunctionalInterface
+    public interface ReplicationFilter {
+        ReplicationFilter FIRST_DAY = (run, day) -> run == 0 && day == 0;
+        ReplicationFilter ALL = (run, day) -> true;
+
+        /**
+         * @param run zero based simulation run
+         * @param day zero based day within the run
+         */
+        boolean accepts(int run, int day);
+    }
+
+    private static final int ALL_TYPES = (1 << SimulationEventRecord.Type.values().length) - 1;
+
+    /**
+     * Every event of the first day, delivered without loss.
+     */
+    public static EventSubscription firstDay() {
+        return new EventSubscription(ALL_TYPES, ReplicationFilter.FIRST_DAY, SimulationEventBus.Backpressure.BLOCK, 1);
+    }
+
+    public EventSubscription types(SimulationEventRecord.Type... types) {
+        int mask = Arrays.stream(types).mapToInt(EventSubscription::bit).reduce(0, (a, b) -> a | b);
+        return new EventSubscription(mask, replications, backpressure, sampleInterval);
+    }
+
+    public EventSubscription replications(ReplicationFilter replications) {
+        return new EventSubscription(typeMask, replications, backpressure, sampleInterval);
+    }
+
+    public EventSubscription backpressure(SimulationEventBus.Backpressure backpressure) {
+        return new EventSubscription(typeMask, replications, backpressure, sampleInterval);
+    }
+
+    public EventSubscription sampleInterval(int sampleInterval) {
+        return new EventSubscription(typeMask, replications, backpressure, sampleInterval);
+    }
+
+    public boolean accepts(SimulationEventRecord.Type type) {
+        return (typeMask & bit(type)) != 0;
+    }
+
+    static int bit(SimulationEventRecord.Type type) {
+        return 1 << type.ordinal();
+    }
+}
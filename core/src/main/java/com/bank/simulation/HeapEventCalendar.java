@@ -0,0 +1,40 @@
+package com.bank.simulation;
+
+import com.bank.models.SimulationEvent;
+
+import java.util.PriorityQueue;
+
+/**
+ * Binary heap calendar. Works for any spread of event times at O(log n) per operation.
+ */
+public class HeapEventCalendar implements EventCalendar {
+    private final PriorityQueue<SimulationEvent> events = new PriorityQueue<>();
+    private long nextSequence = 0;
+
+    @Override
+    public void add(SimulationEvent event) {
+        event.setSequence(nextSequence++);
+        events.add(event);
+    }
+
+    @Override
+    public SimulationEvent poll() {
+        return events.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return events.size();
+    }
+
+    @Override
+    public void clear() {
+        events.clear();
+        nextSequence = 0;
+    }
+}
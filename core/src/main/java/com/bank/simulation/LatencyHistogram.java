@@ -0,0 +1,125 @@
+package com.bank.simulation;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram of non-negative times, in the style of HdrHistogram. Values below 64 get a bucket each, above
+ * that every power of two is split into 32 buckets, so any recorded value is known to within about 3% while a whole
+ * {@code int} range needs fewer than 900 counters. Recording is a few shifts and an increment, and histograms of
+ * different replications merge by adding counters, so percentiles of a study of any size come from the same memory.
+ * <p>
+ * The counters are only grown up to the largest bucket used, which keeps the histograms of short days small.
+ */
+public final class LatencyHistogram implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below this are counted exactly
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+    private long[] counts = new long[0];
+    private long totalCount = 0;
+    private long maxValue = 0;
+
+    public void record(long value) {
+        if (value < 0)
+            throw new IllegalArgumentException("Negative value: " + value);
+
+        int index = bucketIndex(value);
+        if (index >= counts.length) {
+            // Grows a whole power of two at a time
+            counts = Arrays.copyOf(counts, (index / SUB_BUCKETS + 1) * SUB_BUCKETS);
+        }
+        counts[index]++;
+        totalCount++;
+        if (value > maxValue) {
+            maxValue = value;
+        }
+    }
+
+    public void merge(LatencyHistogram other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    /**
+     * Empties the histogram, keeping its counters for reuse.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxValue = 0;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the largest value in the bucket holding the given percentile, capped at the largest recorded value,
+     * or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketHighValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * @return number of buckets that may hold values, the valid indexes of {@link #getCountAt}
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    public long getCountAt(int bucket) {
+        return bucket < counts.length ? counts[bucket] : 0;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    public static long bucketLowValue(int bucket) {
+        if (bucket < LINEAR_LIMIT) return bucket;
+
+        int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        int subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << shift;
+    }
+
+    public static long bucketHighValue(int bucket) {
+        if (bucket < LINEAR_LIMIT) return bucket;
+
+        int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        return bucketLowValue(bucket) + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,169 @@
+package com.bank.simulation;
+
+/**
+ * Every statistic a study reports, in display order. Values are kept as numbers keyed by these constants and only
+ * formatted when shown, so charts, tables and the history read them without parsing text.
+ */
+public enum Metric {
+    AVG_CASH_SERVICE_TIME("Average Cash Customer Service Time", Group.SERVICE_TIME, Unit.TIME, true),
+    AVG_SERVICE_SERVICE_TIME("Average Service Customer Service Time", Group.SERVICE_TIME, Unit.TIME, true),
+    AVG_INDOOR_TELLER_WAIT("Average Indoor Teller Wait Time", Group.WAIT_TIME, Unit.TIME, true),
+    AVG_OUTDOOR_TELLER_WAIT("Average Outdoor Teller Wait Time", Group.WAIT_TIME, Unit.TIME, true),
+    AVG_SERVICE_EMPLOYEE_WAIT("Average Service Employee Wait Time", Group.WAIT_TIME, Unit.TIME, true),
+    AVG_TOTAL_WAIT("Average Total Wait Time", Group.WAIT_TIME, Unit.TIME, true),
+    MAX_INDOOR_TELLER_QUEUE("Max Indoor Teller Queue Size", Group.MAX_QUEUE_SIZE, Unit.COUNT, false),
+    MAX_OUTDOOR_TELLER_QUEUE("Max Outdoor Teller Queue Size", Group.MAX_QUEUE_SIZE, Unit.COUNT, false),
+    MAX_SERVICE_EMPLOYEE_QUEUE("Max Service Employee Queue Size", Group.MAX_QUEUE_SIZE, Unit.COUNT, false),
+    AVG_INDOOR_TELLER_QUEUE_LENGTH("Average Indoor Teller Queue Length", Group.QUEUE_LENGTH, Unit.CUSTOMERS, true),
+    AVG_OUTDOOR_TELLER_QUEUE_LENGTH("Average Outdoor Teller Queue Length", Group.QUEUE_LENGTH, Unit.CUSTOMERS, true),
+    AVG_SERVICE_EMPLOYEE_QUEUE_LENGTH("Average Service Employee Queue Length", Group.QUEUE_LENGTH, Unit.CUSTOMERS,
+            true),
+    AVG_BUSY_INDOOR_TELLERS("Average Busy Indoor Tellers", Group.OCCUPANCY, Unit.EMPLOYEES, true),
+    AVG_BUSY_OUTDOOR_TELLERS("Average Busy Outdoor Tellers", Group.OCCUPANCY, Unit.EMPLOYEES, true),
+    AVG_BUSY_SERVICE_EMPLOYEES("Average Busy Service Employees", Group.OCCUPANCY, Unit.EMPLOYEES, true),
+    AVG_CUSTOMERS_IN_BANK("Average Customers in Bank", Group.OCCUPANCY, Unit.CUSTOMERS, true),
+    INDOOR_TELLER_WAIT_PROBABILITY("Indoor Teller Wait Probability", Group.WAIT_PROBABILITY, Unit.RATIO, true),
+    OUTDOOR_TELLER_WAIT_PROBABILITY("Outdoor Teller Wait Probability", Group.WAIT_PROBABILITY, Unit.RATIO, true),
+    SERVICE_EMPLOYEE_WAIT_PROBABILITY("Service Employee Wait Probability", Group.WAIT_PROBABILITY, Unit.RATIO, true),
+    INDOOR_TELLERS_IDLE_PORTION("Indoor Tellers Idle Portion", Group.IDLE_PORTION, Unit.RATIO, true),
+    OUTDOOR_TELLERS_IDLE_PORTION("Outdoor Tellers Idle Portion", Group.IDLE_PORTION, Unit.RATIO, true),
+    SERVICE_EMPLOYEES_IDLE_PORTION("Service Employees Idle Portion", Group.IDLE_PORTION, Unit.RATIO, true),
+    AVG_INTER_ARRIVAL_TIME("Average Inter-Arrival Time", Group.INTER_ARRIVAL_TIME, Unit.TIME, true),
+
+    INDOOR_TELLER_WAIT_P50("Indoor Teller Wait Time p50", Group.WAIT_TIME_PERCENTILE, 50),
+    INDOOR_TELLER_WAIT_P90("Indoor Teller Wait Time p90", Group.WAIT_TIME_PERCENTILE, 90),
+    INDOOR_TELLER_WAIT_P99("Indoor Teller Wait Time p99", Group.WAIT_TIME_PERCENTILE, 99),
+    INDOOR_TELLER_WAIT_P999("Indoor Teller Wait Time p99.9", Group.WAIT_TIME_PERCENTILE, 99.9),
+    OUTDOOR_TELLER_WAIT_P50("Outdoor Teller Wait Time p50", Group.WAIT_TIME_PERCENTILE, 50),
+    OUTDOOR_TELLER_WAIT_P90("Outdoor Teller Wait Time p90", Group.WAIT_TIME_PERCENTILE, 90),
+    OUTDOOR_TELLER_WAIT_P99("Outdoor Teller Wait Time p99", Group.WAIT_TIME_PERCENTILE, 99),
+    OUTDOOR_TELLER_WAIT_P999("Outdoor Teller Wait Time p99.9", Group.WAIT_TIME_PERCENTILE, 99.9),
+    SERVICE_EMPLOYEE_WAIT_P50("Service Employee Wait Time p50", Group.WAIT_TIME_PERCENTILE, 50),
+    SERVICE_EMPLOYEE_WAIT_P90("Service Employee Wait Time p90", Group.WAIT_TIME_PERCENTILE, 90),
+    SERVICE_EMPLOYEE_WAIT_P99("Service Employee Wait Time p99", Group.WAIT_TIME_PERCENTILE, 99),
+    SERVICE_EMPLOYEE_WAIT_P999("Service Employee Wait Time p99.9", Group.WAIT_TIME_PERCENTILE, 99.9),
+    INDOOR_TELLER_SOJOURN_P50("Indoor Teller Time in Bank p50", Group.SOJOURN_TIME_PERCENTILE, 50),
+    INDOOR_TELLER_SOJOURN_P90("Indoor Teller Time in Bank p90", Group.SOJOURN_TIME_PERCENTILE, 90),
+    INDOOR_TELLER_SOJOURN_P99("Indoor Teller Time in Bank p99", Group.SOJOURN_TIME_PERCENTILE, 99),
+    INDOOR_TELLER_SOJOURN_P999("Indoor Teller Time in Bank p99.9", Group.SOJOURN_TIME_PERCENTILE, 99.9),
+    OUTDOOR_TELLER_SOJOURN_P50("Outdoor Teller Time in Bank p50", Group.SOJOURN_TIME_PERCENTILE, 50),
+    OUTDOOR_TELLER_SOJOURN_P90("Outdoor Teller Time in Bank p90", Group.SOJOURN_TIME_PERCENTILE, 90),
+    OUTDOOR_TELLER_SOJOURN_P99("Outdoor Teller Time in Bank p99", Group.SOJOURN_TIME_PERCENTILE, 99),
+    OUTDOOR_TELLER_SOJOURN_P999("Outdoor Teller Time in Bank p99.9", Group.SOJOURN_TIME_PERCENTILE, 99.9),
+    SERVICE_EMPLOYEE_SOJOURN_P50("Service Employee Time in Bank p50", Group.SOJOURN_TIME_PERCENTILE, 50),
+    SERVICE_EMPLOYEE_SOJOURN_P90("Service Employee Time in Bank p90", Group.SOJOURN_TIME_PERCENTILE, 90),
+    SERVICE_EMPLOYEE_SOJOURN_P99("Service Employee Time in Bank p99", Group.SOJOURN_TIME_PERCENTILE, 99),
+    SERVICE_EMPLOYEE_SOJOURN_P999("Service Employee Time in Bank p99.9", Group.SOJOURN_TIME_PERCENTILE, 99.9);
+
+    /**
+     * Metrics shown together, one chart per group.
+     */
+    public enum Group {
+        SERVICE_TIME,
+        WAIT_TIME,
+        MAX_QUEUE_SIZE,
+        QUEUE_LENGTH,
+        OCCUPANCY,
+        WAIT_PROBABILITY,
+        IDLE_PORTION,
+        INTER_ARRIVAL_TIME,
+        WAIT_TIME_PERCENTILE,
+        SOJOURN_TIME_PERCENTILE
+    }
+
+    public enum Unit {
+        // Simulation clock units, averaged
+        TIME,
+        // Simulation clock units of a single customer, whole numbers
+        TIME_PERCENTILE,
+        // Customers, averaged over time
+        CUSTOMERS,
+        // Employees, averaged over time
+        EMPLOYEES,
+        // Whole number of customers
+        COUNT,
+        // Fraction between 0 and 1, shown as a percentage
+        RATIO;
+
+        public boolean isWhole() {
+            return this == TIME_PERCENTILE || this == COUNT;
+        }
+    }
+
+    private final String label;
+    private final Group group;
+    private final Unit unit;
+    // Whether the statistic is estimated per replication, so it gets a confidence interval
+    private final boolean perReplication;
+    // Percentile of the histogram the metric reads, 0 for metrics computed from the totals
+    private final double percentile;
+
+    Metric(String label, Group group, Unit unit, boolean perReplication) {
+        this.label = label;
+        this.group = group;
+        this.unit = unit;
+        this.perReplication = perReplication;
+        this.percentile = 0;
+    }
+
+    Metric(String label, Group group, double percentile) {
+        this.label = label;
+        this.group = group;
+        this.unit = Unit.TIME_PERCENTILE;
+        this.perReplication = false;
+        this.percentile = percentile;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Group getGroup() {
+        return group;
+    }
+
+    public Unit getUnit() {
+        return unit;
+    }
+
+    public boolean isPerReplication() {
+        return perReplication;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public String format(double value) {
+        return switch (unit) {
+            case TIME, CUSTOMERS, EMPLOYEES -> String.format("%.4f", value);
+            case TIME_PERCENTILE, COUNT -> String.valueOf((long) value);
+            case RATIO -> String.format("%.2f%%", value * 100);
+        };
+    }
+
+    /**
+     * Reverses {@link #format}, for statistics saved as text before metrics were kept as numbers.
+     *
+     * @throws NumberFormatException if the text is not a formatted value
+     */
+    public double parse(String text) {
+        String value = text.trim();
+        if (unit == Unit.RATIO) {
+            return Double.parseDouble(value.replace("%", "").trim()) / 100;
+        }
+        return Double.parseDouble(value);
+    }
+
+    /**
+     * @return the metric with the given label, or null if none has it
+     */
+    public static Metric forLabel(String label) {
+        for (Metric metric : values()) {
+            if (metric.label.equals(label)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+}
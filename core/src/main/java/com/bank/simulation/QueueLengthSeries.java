@@ -0,0 +1,157 @@
+package com.bank.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Queue lengths and occupancy of one day over time, downsampled while the day runs so a day of any length fits in a
+ * fixed number of points. The day is cut into equal time buckets, each keeping the smallest, largest and
+ * time-weighted mean value of every series. When the day outgrows the buckets their width doubles and neighbours
+ * merge, so short spikes stay visible as a bucket's maximum however long the day gets.
+ * <p>
+ * Each series is a step function: {@link #set} gives the value from that time on, and {@link #finish} closes the day.
+ */
+public final class QueueLengthSeries {
+    public static final int INDOOR_TELLER_QUEUE = 0;
+    public static final int OUTDOOR_TELLER_QUEUE = 1;
+    public static final int SERVICE_EMPLOYEE_QUEUE = 2;
+    public static final int BUSY_EMPLOYEES = 3;
+    public static final int CUSTOMERS_IN_BANK = 4;
+
+    private static final String[] NAMES = {
+            "Indoor Teller Queue",
+            "Outdoor Teller Queue",
+            "Service Employee Queue",
+            "Busy Employees",
+            "Customers in Bank"
+    };
+
+    private final int capacity;
+    private int bucketWidth = 1;
+    // Buckets started so far
+    private int bucketCount = 0;
+    private int endTime = -1;
+
+    private final int[][] min;
+    private final int[][] max;
+    private final long[][] area;
+
+    // Value of each series and since when it holds
+    private final int[] value = new int[NAMES.length];
+    private final int[] since = new int[NAMES.length];
+
+    /**
+     * @param capacity largest number of buckets kept, at least 2
+     */
+    public QueueLengthSeries(int capacity) {
+        if (capacity < 2)
+            throw new IllegalArgumentException("Capacity must be at least 2: " + capacity);
+
+        this.capacity = capacity;
+        min = new int[NAMES.length][capacity];
+        max = new int[NAMES.length][capacity];
+        area = new long[NAMES.length][capacity];
+    }
+
+    public static String getName(int series) {
+        return NAMES[series];
+    }
+
+    public static int getSeriesCount() {
+        return NAMES.length;
+    }
+
+    public void set(int series, int time, int newValue) {
+        if (newValue == value[series]) return;
+        close(series, time);
+        value[series] = newValue;
+    }
+
+    /**
+     * Ends every series at the given time. No values can be set afterwards.
+     */
+    public void finish(int time) {
+        for (int series = 0; series < NAMES.length; series++) {
+            close(series, time);
+        }
+        endTime = time;
+    }
+
+    // Adds the value held since the last change to every bucket up to time
+    private void close(int series, int time) {
+        if (endTime >= 0)
+            throw new IllegalStateException("Series already finished");
+
+        int from = since[series];
+        if (time <= from) return;
+
+        coverUpTo(time - 1);
+        int v = value[series];
+        for (int bucket = from / bucketWidth; bucket <= (time - 1) / bucketWidth; bucket++) {
+            int start = Math.max(from, bucket * bucketWidth);
+            int end = Math.min(time, (bucket + 1) * bucketWidth);
+            area[series][bucket] += (long) v * (end - start);
+            if (v < min[series][bucket]) min[series][bucket] = v;
+            if (v > max[series][bucket]) max[series][bucket] = v;
+        }
+        since[series] = time;
+    }
+
+    // Widens the buckets until the time fits, then starts the buckets up to it
+    private void coverUpTo(int time) {
+        while (time / bucketWidth >= capacity) {
+            int merged = (bucketCount + 1) / 2;
+            for (int series = 0; series < NAMES.length; series++) {
+                for (int i = 0; i < merged; i++) {
+                    int left = 2 * i;
+                    int right = left + 1;
+                    int lo = min[series][left];
+                    int hi = max[series][left];
+                    long sum = area[series][left];
+                    if (right < bucketCount) {
+                        lo = Math.min(lo, min[series][right]);
+                        hi = Math.max(hi, max[series][right]);
+                        sum += area[series][right];
+                    }
+                    min[series][i] = lo;
+                    max[series][i] = hi;
+                    area[series][i] = sum;
+                }
+            }
+            bucketCount = merged;
+            bucketWidth *= 2;
+        }
+
+        int needed = time / bucketWidth + 1;
+        if (needed <= bucketCount) return;
+        for (int series = 0; series < NAMES.length; series++) {
+            Arrays.fill(min[series], bucketCount, needed, Integer.MAX_VALUE);
+            Arrays.fill(max[series], bucketCount, needed, Integer.MIN_VALUE);
+            Arrays.fill(area[series], bucketCount, needed, 0);
+        }
+        bucketCount = needed;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    public int getBucketStart(int bucket) {
+        return bucket * bucketWidth;
+    }
+
+    public int getBucketEnd(int bucket) {
+        return endTime >= 0 ? Math.min((bucket + 1) * bucketWidth, endTime) : (bucket + 1) * bucketWidth;
+    }
+
+    public int getMin(int series, int bucket) {
+        return min[series][bucket];
+    }
+
+    public int getMax(int series, int bucket) {
+        return max[series][bucket];
+    }
+
+    public double getMean(int series, int bucket) {
+        return area[series][bucket] / (double) (getBucketEnd(bucket) - getBucketStart(bucket));
+    }
+}
@@ -0,0 +1,211 @@
+package com.bank.simulation;
+
+/**
+ * Confidence interval of a ratio of sums across replications, such as the total wait over the customers who waited.
+ * The estimate is the pooled ratio R = sum(Y) / sum(X), the value a study reports, and its half-width comes from the
+ * delta method: the residuals Y - R X of the replications have mean 0, and their standard error divided by the mean
+ * denominator is the standard error of R.
+ * <p>
+ * Keeps the means, variances and covariance of the numerators and denominators with Welford's update, so no sample is
+ * kept and estimators of disjoint sets of replications merge exactly.
+ */
+public final class RatioEstimator {
+    // Up to this many degrees of freedom the quantile inverts the exact distribution function
+    private static final long EXACT_QUANTILE_MAX_DEGREES = 100;
+
+    private long count = 0;
+    private double meanNumerator = 0;
+    private double meanDenominator = 0;
+    // Sums of squared differences and of cross products of the differences from the means
+    private double m2Numerator = 0;
+    private double m2Denominator = 0;
+    private double coMoment = 0;
+
+    public void add(double numerator, double denominator) {
+        count++;
+        double deltaNumerator = numerator - meanNumerator;
+        double deltaDenominator = denominator - meanDenominator;
+        meanNumerator += deltaNumerator / count;
+        meanDenominator += deltaDenominator / count;
+        m2Numerator += deltaNumerator * (numerator - meanNumerator);
+        m2Denominator += deltaDenominator * (denominator - meanDenominator);
+        coMoment += deltaDenominator * (numerator - meanNumerator);
+    }
+
+    public void merge(RatioEstimator other) {
+        if (other.count == 0) return;
+        if (count == 0) {
+            count = other.count;
+            meanNumerator = other.meanNumerator;
+            meanDenominator = other.meanDenominator;
+            m2Numerator = other.m2Numerator;
+            m2Denominator = other.m2Denominator;
+            coMoment = other.coMoment;
+            return;
+        }
+        long total = count + other.count;
+        double weight = (double) count * other.count / total;
+        double deltaNumerator = other.meanNumerator - meanNumerator;
+        double deltaDenominator = other.meanDenominator - meanDenominator;
+        meanNumerator += deltaNumerator * other.count / total;
+        meanDenominator += deltaDenominator * other.count / total;
+        m2Numerator += other.m2Numerator + deltaNumerator * deltaNumerator * weight;
+        m2Denominator += other.m2Denominator + deltaDenominator * deltaDenominator * weight;
+        coMoment += other.coMoment + deltaNumerator * deltaDenominator * weight;
+        count = total;
+    }
+
+    public void reset() {
+        count = 0;
+        meanNumerator = 0;
+        meanDenominator = 0;
+        m2Numerator = 0;
+        m2Denominator = 0;
+        coMoment = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the pooled ratio, 0 when no replication had a denominator
+     */
+    public double getRatio() {
+        return meanDenominator == 0 ? 0 : meanNumerator / meanDenominator;
+    }
+
+    /**
+     * Half-width of the Student t confidence interval of the ratio.
+     *
+     * @param confidence confidence level, for example 0.95
+     * @return the half-width, or NaN with fewer than two replications
+     */
+    public double halfWidth(double confidence) {
+        if (count < 2 || meanDenominator == 0) return Double.NaN;
+        double ratio = getRatio();
+        // Sample variance of the residuals, which rounding can push just below 0
+        double residualVariance = Math.max(0,
+                (m2Numerator - 2 * ratio * coMoment + ratio * ratio * m2Denominator) / (count - 1));
+        return studentQuantile(0.5 + confidence / 2, count - 1)
+                * Math.sqrt(residualVariance / count) / Math.abs(meanDenominator);
+    }
+
+    /**
+     * @return the half-width relative to the ratio, 0 when every numerator was 0, infinite when only the ratio is 0
+     */
+    public double relativeHalfWidth(double confidence) {
+        double halfWidth = halfWidth(confidence);
+        if (Double.isNaN(halfWidth)) return Double.POSITIVE_INFINITY;
+        if (halfWidth == 0) return 0;
+        double ratio = getRatio();
+        return ratio == 0 ? Double.POSITIVE_INFINITY : halfWidth / Math.abs(ratio);
+    }
+
+    /**
+     * Quantile of the Student t distribution. Exact for 1 and 2 degrees of freedom. Up to
+     * {@link #EXACT_QUANTILE_MAX_DEGREES} it bisects the closed-form distribution function (Abramowitz and Stegun
+     * 26.7.3 and 26.7.4) to double precision. Beyond that it uses the Cornish-Fisher expansion around the normal
+     * quantile (26.7.5), which is off by less than 1e-7 there for any p up to 0.9995.
+     */
+    static double studentQuantile(double p, long degreesOfFreedom) {
+        if (degreesOfFreedom == 1) {
+            return Math.tan(Math.PI * (p - 0.5));
+        }
+        if (degreesOfFreedom == 2) {
+            return (2 * p - 1) / Math.sqrt(2 * p * (1 - p));
+        }
+        if (degreesOfFreedom <= EXACT_QUANTILE_MAX_DEGREES) {
+            return invertStudentDistribution(p, degreesOfFreedom);
+        }
+        double z = normalQuantile(p);
+        double n = degreesOfFreedom;
+        double z2 = z * z;
+        double g1 = (z2 + 1) * z / 4;
+        double g2 = ((5 * z2 + 16) * z2 + 3) * z / 96;
+        double g3 = (((3 * z2 + 19) * z2 + 17) * z2 - 15) * z / 384;
+        double g4 = ((((79 * z2 + 776) * z2 + 1482) * z2 - 1920) * z2 - 945) * z / 92160;
+        return z + g1 / n + g2 / (n * n) + g3 / (n * n * n) + g4 / (n * n * n * n);
+    }
+
+    private static double invertStudentDistribution(double p, long degreesOfFreedom) {
+        if (p <= 0 || p >= 1)
+            throw new IllegalArgumentException("Probability must be in (0, 1): " + p);
+        if (p < 0.5) return -invertStudentDistribution(1 - p, degreesOfFreedom);
+
+        double low = 0;
+        double high = 1;
+        while (studentDistribution(high, degreesOfFreedom) < p) {
+            high *= 2;
+        }
+        while (high - low > 1e-15 * high) {
+            double middle = (low + high) / 2;
+            if (middle == low || middle == high) break;
+            if (studentDistribution(middle, degreesOfFreedom) < p) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    /**
+     * P(T <= t) for t >= 0, from the finite series of the Student t distribution with a whole number of degrees of
+     * freedom of at least 2.
+     */
+    private static double studentDistribution(double t, long degreesOfFreedom) {
+        double theta = Math.atan(t / Math.sqrt(degreesOfFreedom));
+        double sin = Math.sin(theta);
+        double cos2 = Math.cos(theta) * Math.cos(theta);
+        double term = 1;
+        double sum = 1;
+        // Probability of |T| <= t
+        double central;
+        if (degreesOfFreedom % 2 == 1) {
+            for (long k = 3; k <= degreesOfFreedom - 2; k += 2) {
+                term *= cos2 * (k - 1) / k;
+                sum += term;
+            }
+            central = 2 / Math.PI * (theta + sin * Math.cos(theta) * sum);
+        } else {
+            for (long k = 2; k <= degreesOfFreedom - 2; k += 2) {
+                term *= cos2 * (k - 1) / k;
+                sum += term;
+            }
+            central = sin * sum;
+        }
+        return 0.5 + central / 2;
+    }
+
+    /**
+     * Quantile of the standard normal distribution, Acklam's rational approximation (relative error below 1.2e-9).
+     */
+    static double normalQuantile(double p) {
+        if (p <= 0 || p >= 1)
+            throw new IllegalArgumentException("Probability must be in (0, 1): " + p);
+
+        double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        double low = 0.02425;
+
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            return -normalQuantile(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -0,0 +1,64 @@
+package com.bank.simulation;
+
+/**
+ * SplitMix64 generator that can be re-seeded in place, so an engine can reuse one instance for every replication it
+ * runs instead of allocating new generators per day.
+ */
+final class ReplicationRandom {
+    /**
+     * Names the generator together with the way replication streams are derived from the master seed. Must change
+     * whenever either does, since saved studies are replayed from their seed.
+     */
+    static final String ALGORITHM = "SplitMix64/replication-v1";
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    ReplicationRandom(long seed) {
+        this.state = seed;
+    }
+
+    void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    long nextLong() {
+        return mix64(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * @return a uniform double in [0, 1)
+     */
+    double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Derives the seed of replication {@code index} from the study's master seed. The result only depends on the two
+     * arguments, so a replication gets the same random stream no matter which thread runs it or in which order.
+     */
+    static long replicationSeed(long masterSeed, long index) {
+        return mix64(masterSeed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Seed of the service-time stream of a replication, kept apart from its arrival stream.
+     */
+    static long serviceSeed(long replicationSeed) {
+        return mix64(replicationSeed ^ 0x5DEECE66DL);
+    }
+
+    /**
+     * Seed of the stream a replication uses for routing decisions such as picking a random idle employee.
+     */
+    static long routingSeed(long replicationSeed) {
+        return mix64(replicationSeed ^ 0x2545F4914F6CDD1DL);
+    }
+}
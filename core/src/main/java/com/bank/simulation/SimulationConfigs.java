@@ -1,6 +1,7 @@
 package com.bank.simulation;
 
 import com.bank.models.EmployeeData;
+import com.bank.models.EmployeeSelectionPolicy;
 import com.bank.models.ProbabilityDistribution;
 
 import java.util.*;
@@ -16,6 +17,7 @@ public class SimulationConfigs {
     private double cashCustomerProbability;
     private ProbabilityDistribution timeBetweenArrivalDistribution;
     private List<EmployeeData> employeeData;
+    private EmployeeSelectionPolicy employeeSelectionPolicy;
 
     private SimulationConfigs() {
         resetParamsToDefault();
@@ -24,13 +26,15 @@ public class SimulationConfigs {
     public void resetParamsToDefault() {
         outdoorQueueCapacity = 2;
         cashCustomerProbability = 0.7;
+        employeeSelectionPolicy = EmployeeSelectionPolicy.FIRST_IDLE;
 
-        timeBetweenArrivalDistribution = new ProbabilityDistribution(new LinkedHashMap<>(Map.of(
-                0, 0.15,
-                1, 0.25,
-                2, 0.25,
-                3, 0.35
-        )));
+        // Map.of has no defined iteration order, and the order decides which draw maps to which value
+        timeBetweenArrivalDistribution = new ProbabilityDistribution(new LinkedHashMap<>() {{
+            put(0, 0.15);
+            put(1, 0.25);
+            put(2, 0.25);
+            put(3, 0.35);
+        }});
 
         employeeData = new ArrayList<>();
         EmployeeData outdoorTellerData = new EmployeeData(
@@ -94,6 +98,14 @@ public class SimulationConfigs {
         this.cashCustomerProbability = cashCustomerProbability;
     }
 
+    public EmployeeSelectionPolicy getEmployeeSelectionPolicy() {
+        return employeeSelectionPolicy;
+    }
+
+    public void setEmployeeSelectionPolicy(EmployeeSelectionPolicy employeeSelectionPolicy) {
+        this.employeeSelectionPolicy = employeeSelectionPolicy;
+    }
+
     public List<EmployeeData> getIndoorServiceEmployeesData() {
         return employeeData
                 .stream()
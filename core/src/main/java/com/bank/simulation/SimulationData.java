@@ -0,0 +1,452 @@
+package com.bank.simulation;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SimulationData {
+    /**
+     * Text form of a metric, kept only so records saved before {@link SimulationMetrics} still deserialize.
+     *
+     * @param confidenceInterval half-width of the confidence interval of the value across replications, formatted
+     *                           like the value, or null when the study has too few replications or the statistic
+     *                           is not an average
+     */
+    public record Statistic(String label, String value, String confidenceInterval) implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        public Statistic(String label, String value) {
+            this(label, value, null);
+        }
+    }
+
+    private static final Metric[] METRICS = Metric.values();
+
+    // Totals are 64-bit and merged with overflow checks, so studies of any length either add up or fail loudly
+    public long totalCashServiceTime = 0;
+    public long totalServiceServiceTime = 0;
+
+    public long totalIndoorTellerWaitTime = 0;
+    public long totalOutdoorTellerWaitTime = 0;
+    public long totalServiceWaitTime = 0;
+
+    public int maxIndoorTellerQueueSize = 0;
+    public int maxOutdoorTellerQueueSize = 0;
+    public int maxServiceEmployeeQueueSize = 0;
+
+    // Integral of each queue's length over time, divided by totalTime gives the time-average length
+    public long totalIndoorTellerQueueArea = 0;
+    public long totalOutdoorTellerQueueArea = 0;
+    public long totalServiceEmployeeQueueArea = 0;
+
+    // Time each pool's employees spent serving, the integral of its busy employees over time
+    public long totalIndoorTellerBusyTime = 0;
+    public long totalOutdoorTellerBusyTime = 0;
+    public long totalServiceEmployeeBusyTime = 0;
+
+    public long totalIndoorTellerWaitingCustomers = 0;
+    public long totalOutdoorTellerWaitingCustomers = 0;
+    public long totalServiceEmployeeWaitingCustomers = 0;
+
+    public long totalIndoorTellerCustomers = 0;
+    public long totalOutdoorTellerCustomers = 0;
+    public long totalServiceEmployeeCustomers = 0;
+
+    public long totalTime = 0;
+    public long totalIndoorTellerIdleTime = 0;
+    public long totalOutdoorTellerIdleTime = 0;
+    public long totalServiceEmployeeIdleTime = 0;
+
+    public long totalInterArrivalTime = 0;
+
+    public int indoorTellersCount = 1;
+    public int outdoorTellersCount = 1;
+    public int serviceEmployeesCount = 1;
+
+    // Distribution of each customer's wait, time in the bank (wait plus service) and service time, per queue
+    public final LatencyHistogram indoorTellerWaitTimes = new LatencyHistogram();
+    public final LatencyHistogram outdoorTellerWaitTimes = new LatencyHistogram();
+    public final LatencyHistogram serviceEmployeeWaitTimes = new LatencyHistogram();
+    public final LatencyHistogram indoorTellerSojournTimes = new LatencyHistogram();
+    public final LatencyHistogram outdoorTellerSojournTimes = new LatencyHistogram();
+    public final LatencyHistogram serviceEmployeeSojournTimes = new LatencyHistogram();
+    public final LatencyHistogram indoorTellerServiceTimes = new LatencyHistogram();
+    public final LatencyHistogram outdoorTellerServiceTimes = new LatencyHistogram();
+    public final LatencyHistogram serviceEmployeeServiceTimes = new LatencyHistogram();
+
+    // Load over the time of day, summed over every day
+    public final TimeOfDayProfile timeOfDay = new TimeOfDayProfile();
+
+    // Confidence level of the intervals reported by calculateStatistics
+    public double confidenceLevel = 0.95;
+
+    // Per-replication numerators and denominators of each metric, fed by recordReplication and merged with the totals
+    private final RatioEstimator[] replicationMetrics = newEstimators();
+    // Scratch space of recordReplication, so recording a day on a reused instance allocates nothing
+    private final double[] replicationNumerators = new double[METRICS.length];
+    private final double[] replicationDenominators = new double[METRICS.length];
+
+    private SimulationMetrics metrics;
+
+    private static RatioEstimator[] newEstimators() {
+        RatioEstimator[] estimators = new RatioEstimator[METRICS.length];
+        for (int i = 0; i < estimators.length; i++) {
+            estimators[i] = new RatioEstimator();
+        }
+        return estimators;
+    }
+
+    /**
+     * Zeroes every total so the same instance can collect another day.
+     */
+    public void reset() {
+        totalCashServiceTime = 0;
+        totalServiceServiceTime = 0;
+
+        totalIndoorTellerWaitTime = 0;
+        totalOutdoorTellerWaitTime = 0;
+        totalServiceWaitTime = 0;
+
+        maxIndoorTellerQueueSize = 0;
+        maxOutdoorTellerQueueSize = 0;
+        maxServiceEmployeeQueueSize = 0;
+
+        totalIndoorTellerQueueArea = 0;
+        totalOutdoorTellerQueueArea = 0;
+        totalServiceEmployeeQueueArea = 0;
+
+        totalIndoorTellerBusyTime = 0;
+        totalOutdoorTellerBusyTime = 0;
+        totalServiceEmployeeBusyTime = 0;
+
+        totalIndoorTellerWaitingCustomers = 0;
+        totalOutdoorTellerWaitingCustomers = 0;
+        totalServiceEmployeeWaitingCustomers = 0;
+
+        totalIndoorTellerCustomers = 0;
+        totalOutdoorTellerCustomers = 0;
+        totalServiceEmployeeCustomers = 0;
+
+        totalTime = 0;
+        totalIndoorTellerIdleTime = 0;
+        totalOutdoorTellerIdleTime = 0;
+        totalServiceEmployeeIdleTime = 0;
+
+        totalInterArrivalTime = 0;
+
+        indoorTellersCount = 1;
+        outdoorTellersCount = 1;
+        serviceEmployeesCount = 1;
+
+        for (LatencyHistogram histogram : histograms()) {
+            histogram.reset();
+        }
+        timeOfDay.reset();
+        for (RatioEstimator estimator : replicationMetrics) {
+            estimator.reset();
+        }
+        metrics = null;
+    }
+
+    /**
+     * Counts the totals collected so far as one replication of the metrics' confidence intervals. Called once on the
+     * statistics of every finished day, before they are merged into the study's. Days on which a metric has nothing
+     * to average over, such as a queue no customer waited in, are left out of that metric's interval.
+     */
+    public void recordReplication() {
+        metricRatios(replicationNumerators, replicationDenominators);
+        for (Metric metric : METRICS) {
+            int i = metric.ordinal();
+            if (metric.isPerReplication() && replicationDenominators[i] != 0) {
+                replicationMetrics[i].add(replicationNumerators[i], replicationDenominators[i]);
+            }
+        }
+    }
+
+    public RatioEstimator getReplicationEstimator(Metric metric) {
+        return replicationMetrics[metric.ordinal()];
+    }
+
+    /**
+     * @return the largest relative half-width among the metrics with a confidence interval, ignoring metrics that
+     * were 0 in every replication or never measured
+     */
+    public double maxRelativeHalfWidth() {
+        double max = 0;
+        for (Metric metric : METRICS) {
+            RatioEstimator estimator = replicationMetrics[metric.ordinal()];
+            if (metric.isPerReplication() && estimator.getCount() > 0) {
+                max = Math.max(max, estimator.relativeHalfWidth(confidenceLevel));
+            }
+        }
+        return max;
+    }
+
+    public void calculateStatistics() {
+        metrics = new SimulationMetrics();
+
+        double[] values = metricValues();
+        for (Metric metric : METRICS) {
+            RatioEstimator estimator = replicationMetrics[metric.ordinal()];
+            double value = metric.getPercentile() > 0
+                    ? percentileHistogram(metric).getValueAtPercentile(metric.getPercentile())
+                    : values[metric.ordinal()];
+            double halfWidth = metric.isPerReplication() ? estimator.halfWidth(confidenceLevel) : Double.NaN;
+            metrics.set(metric, value, halfWidth);
+        }
+    }
+
+    /**
+     * Histograms of the customers' wait times, by queue.
+     */
+    public Map<String, LatencyHistogram> getWaitTimeHistograms() {
+        return byQueue(indoorTellerWaitTimes, outdoorTellerWaitTimes, serviceEmployeeWaitTimes);
+    }
+
+    /**
+     * Histograms of the time customers spent in the bank, waiting and being served, by queue.
+     */
+    public Map<String, LatencyHistogram> getSojournTimeHistograms() {
+        return byQueue(indoorTellerSojournTimes, outdoorTellerSojournTimes, serviceEmployeeSojournTimes);
+    }
+
+    public Map<String, LatencyHistogram> getServiceTimeHistograms() {
+        return byQueue(indoorTellerServiceTimes, outdoorTellerServiceTimes, serviceEmployeeServiceTimes);
+    }
+
+    private static Map<String, LatencyHistogram> byQueue(
+            LatencyHistogram indoorTeller,
+            LatencyHistogram outdoorTeller,
+            LatencyHistogram serviceEmployee
+    ) {
+        Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+        histograms.put("Indoor Teller", indoorTeller);
+        histograms.put("Outdoor Teller", outdoorTeller);
+        histograms.put("Service Employee", serviceEmployee);
+        return histograms;
+    }
+
+    private LatencyHistogram[] histograms() {
+        return new LatencyHistogram[]{
+                indoorTellerWaitTimes, outdoorTellerWaitTimes, serviceEmployeeWaitTimes,
+                indoorTellerSojournTimes, outdoorTellerSojournTimes, serviceEmployeeSojournTimes,
+                indoorTellerServiceTimes, outdoorTellerServiceTimes, serviceEmployeeServiceTimes
+        };
+    }
+
+    private LatencyHistogram percentileHistogram(Metric metric) {
+        return switch (metric) {
+            case INDOOR_TELLER_WAIT_P50, INDOOR_TELLER_WAIT_P90, INDOOR_TELLER_WAIT_P99, INDOOR_TELLER_WAIT_P999 ->
+                    indoorTellerWaitTimes;
+            case OUTDOOR_TELLER_WAIT_P50, OUTDOOR_TELLER_WAIT_P90, OUTDOOR_TELLER_WAIT_P99, OUTDOOR_TELLER_WAIT_P999 ->
+                    outdoorTellerWaitTimes;
+            case SERVICE_EMPLOYEE_WAIT_P50, SERVICE_EMPLOYEE_WAIT_P90, SERVICE_EMPLOYEE_WAIT_P99,
+                 SERVICE_EMPLOYEE_WAIT_P999 -> serviceEmployeeWaitTimes;
+            case INDOOR_TELLER_SOJOURN_P50, INDOOR_TELLER_SOJOURN_P90, INDOOR_TELLER_SOJOURN_P99,
+                 INDOOR_TELLER_SOJOURN_P999 -> indoorTellerSojournTimes;
+            case OUTDOOR_TELLER_SOJOURN_P50, OUTDOOR_TELLER_SOJOURN_P90, OUTDOOR_TELLER_SOJOURN_P99,
+                 OUTDOOR_TELLER_SOJOURN_P999 -> outdoorTellerSojournTimes;
+            case SERVICE_EMPLOYEE_SOJOURN_P50, SERVICE_EMPLOYEE_SOJOURN_P90, SERVICE_EMPLOYEE_SOJOURN_P99,
+                 SERVICE_EMPLOYEE_SOJOURN_P999 -> serviceEmployeeSojournTimes;
+            default -> throw new IllegalArgumentException(metric + " is not a percentile");
+        };
+    }
+
+    // Value of every metric computed from the totals, indexed by ordinal; percentiles are left at 0
+    private double[] metricValues() {
+        double[] numerators = new double[METRICS.length];
+        double[] denominators = new double[METRICS.length];
+        metricRatios(numerators, denominators);
+
+        double[] values = new double[METRICS.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = denominators[i] == 0 ? 0 : numerators[i] / denominators[i];
+        }
+        return values;
+    }
+
+    /**
+     * Every metric computed from the totals as a ratio, indexed by ordinal: the value is the numerator over the
+     * denominator, or 0 when the denominator is 0. Whole-study maxima have a denominator of 1 and percentiles are left
+     * at 0 / 0.
+     */
+    private void metricRatios(double[] numerators, double[] denominators) {
+        // Stat 1
+        long totalCashCustomers = totalIndoorTellerCustomers + totalOutdoorTellerCustomers;
+        ratio(numerators, denominators, Metric.AVG_CASH_SERVICE_TIME, totalCashServiceTime, totalCashCustomers);
+        ratio(numerators, denominators, Metric.AVG_SERVICE_SERVICE_TIME,
+                totalServiceServiceTime, totalServiceEmployeeCustomers);
+
+        // Stat 2
+        ratio(numerators, denominators, Metric.AVG_INDOOR_TELLER_WAIT,
+                totalIndoorTellerWaitTime, totalIndoorTellerWaitingCustomers);
+        ratio(numerators, denominators, Metric.AVG_OUTDOOR_TELLER_WAIT,
+                totalOutdoorTellerWaitTime, totalOutdoorTellerWaitingCustomers);
+        ratio(numerators, denominators, Metric.AVG_SERVICE_EMPLOYEE_WAIT,
+                totalServiceWaitTime, totalServiceEmployeeWaitingCustomers);
+
+        double totalWaitingCustomers = totalIndoorTellerWaitingCustomers + totalOutdoorTellerWaitingCustomers
+                + totalServiceEmployeeWaitingCustomers;
+        double totalWaitTime = totalIndoorTellerWaitTime + totalOutdoorTellerWaitTime + totalServiceWaitTime;
+        ratio(numerators, denominators, Metric.AVG_TOTAL_WAIT, totalWaitTime, totalWaitingCustomers);
+
+        // Stat 3
+        ratio(numerators, denominators, Metric.MAX_INDOOR_TELLER_QUEUE, maxIndoorTellerQueueSize, 1);
+        ratio(numerators, denominators, Metric.MAX_OUTDOOR_TELLER_QUEUE, maxOutdoorTellerQueueSize, 1);
+        ratio(numerators, denominators, Metric.MAX_SERVICE_EMPLOYEE_QUEUE, maxServiceEmployeeQueueSize, 1);
+
+        ratio(numerators, denominators, Metric.AVG_INDOOR_TELLER_QUEUE_LENGTH, totalIndoorTellerQueueArea, totalTime);
+        ratio(numerators, denominators, Metric.AVG_OUTDOOR_TELLER_QUEUE_LENGTH,
+                totalOutdoorTellerQueueArea, totalTime);
+        ratio(numerators, denominators, Metric.AVG_SERVICE_EMPLOYEE_QUEUE_LENGTH,
+                totalServiceEmployeeQueueArea, totalTime);
+
+        ratio(numerators, denominators, Metric.AVG_BUSY_INDOOR_TELLERS, totalIndoorTellerBusyTime, totalTime);
+        ratio(numerators, denominators, Metric.AVG_BUSY_OUTDOOR_TELLERS, totalOutdoorTellerBusyTime, totalTime);
+        ratio(numerators, denominators, Metric.AVG_BUSY_SERVICE_EMPLOYEES, totalServiceEmployeeBusyTime, totalTime);
+        // Little's law counterpart of the time in bank: everyone queueing plus everyone being served
+        double totalInBankArea = (double) totalIndoorTellerQueueArea + totalOutdoorTellerQueueArea
+                + totalServiceEmployeeQueueArea + totalIndoorTellerBusyTime + totalOutdoorTellerBusyTime
+                + totalServiceEmployeeBusyTime;
+        ratio(numerators, denominators, Metric.AVG_CUSTOMERS_IN_BANK, totalInBankArea, totalTime);
+
+        // Stat 4
+        ratio(numerators, denominators, Metric.INDOOR_TELLER_WAIT_PROBABILITY,
+                totalIndoorTellerWaitingCustomers, totalIndoorTellerCustomers);
+        ratio(numerators, denominators, Metric.OUTDOOR_TELLER_WAIT_PROBABILITY,
+                totalOutdoorTellerWaitingCustomers, totalOutdoorTellerCustomers);
+        ratio(numerators, denominators, Metric.SERVICE_EMPLOYEE_WAIT_PROBABILITY,
+                totalServiceEmployeeWaitingCustomers, totalServiceEmployeeCustomers);
+
+        // State 5
+        ratio(numerators, denominators, Metric.INDOOR_TELLERS_IDLE_PORTION,
+                totalIndoorTellerIdleTime, (double) totalTime * indoorTellersCount);
+        ratio(numerators, denominators, Metric.OUTDOOR_TELLERS_IDLE_PORTION,
+                totalOutdoorTellerIdleTime, (double) totalTime * outdoorTellersCount);
+        ratio(numerators, denominators, Metric.SERVICE_EMPLOYEES_IDLE_PORTION,
+                totalServiceEmployeeIdleTime, (double) totalTime * serviceEmployeesCount);
+
+        // Stat 6
+        long totalCustomers = totalIndoorTellerCustomers + totalOutdoorTellerCustomers + totalServiceEmployeeCustomers;
+        ratio(numerators, denominators, Metric.AVG_INTER_ARRIVAL_TIME, totalInterArrivalTime, totalCustomers);
+    }
+
+    private static void ratio(double[] numerators, double[] denominators, Metric metric, double numerator,
+                              double denominator) {
+        numerators[metric.ordinal()] = numerator;
+        denominators[metric.ordinal()] = denominator;
+    }
+
+    public void merge(SimulationData stats) {
+        this.totalCashServiceTime = Math.addExact(this.totalCashServiceTime, stats.totalCashServiceTime);
+        this.totalServiceServiceTime = Math.addExact(this.totalServiceServiceTime, stats.totalServiceServiceTime);
+
+        this.totalIndoorTellerWaitTime = Math.addExact(this.totalIndoorTellerWaitTime, stats.totalIndoorTellerWaitTime);
+        this.totalOutdoorTellerWaitTime = Math.addExact(this.totalOutdoorTellerWaitTime,
+                stats.totalOutdoorTellerWaitTime);
+        this.totalServiceWaitTime = Math.addExact(this.totalServiceWaitTime, stats.totalServiceWaitTime);
+
+        this.maxIndoorTellerQueueSize = Math.max(this.maxIndoorTellerQueueSize, stats.maxIndoorTellerQueueSize);
+        this.maxOutdoorTellerQueueSize = Math.max(this.maxOutdoorTellerQueueSize, stats.maxOutdoorTellerQueueSize);
+        this.maxServiceEmployeeQueueSize = Math.max(this.maxServiceEmployeeQueueSize,
+                stats.maxServiceEmployeeQueueSize);
+
+        this.totalIndoorTellerQueueArea = Math.addExact(this.totalIndoorTellerQueueArea,
+                stats.totalIndoorTellerQueueArea);
+        this.totalOutdoorTellerQueueArea = Math.addExact(this.totalOutdoorTellerQueueArea,
+                stats.totalOutdoorTellerQueueArea);
+        this.totalServiceEmployeeQueueArea = Math.addExact(this.totalServiceEmployeeQueueArea,
+                stats.totalServiceEmployeeQueueArea);
+
+        this.totalIndoorTellerBusyTime = Math.addExact(this.totalIndoorTellerBusyTime, stats.totalIndoorTellerBusyTime);
+        this.totalOutdoorTellerBusyTime = Math.addExact(this.totalOutdoorTellerBusyTime,
+                stats.totalOutdoorTellerBusyTime);
+        this.totalServiceEmployeeBusyTime = Math.addExact(this.totalServiceEmployeeBusyTime,
+                stats.totalServiceEmployeeBusyTime);
+
+        this.totalIndoorTellerWaitingCustomers = Math.addExact(this.totalIndoorTellerWaitingCustomers,
+                stats.totalIndoorTellerWaitingCustomers);
+        this.totalOutdoorTellerWaitingCustomers = Math.addExact(this.totalOutdoorTellerWaitingCustomers,
+                stats.totalOutdoorTellerWaitingCustomers);
+        this.totalServiceEmployeeWaitingCustomers = Math.addExact(this.totalServiceEmployeeWaitingCustomers,
+                stats.totalServiceEmployeeWaitingCustomers);
+
+        this.totalIndoorTellerCustomers = Math.addExact(this.totalIndoorTellerCustomers,
+                stats.totalIndoorTellerCustomers);
+        this.totalOutdoorTellerCustomers = Math.addExact(this.totalOutdoorTellerCustomers,
+                stats.totalOutdoorTellerCustomers);
+        this.totalServiceEmployeeCustomers = Math.addExact(this.totalServiceEmployeeCustomers,
+                stats.totalServiceEmployeeCustomers);
+
+        this.totalTime = Math.addExact(this.totalTime, stats.totalTime);
+        this.totalIndoorTellerIdleTime = Math.addExact(this.totalIndoorTellerIdleTime, stats.totalIndoorTellerIdleTime);
+        this.totalOutdoorTellerIdleTime = Math.addExact(this.totalOutdoorTellerIdleTime,
+                stats.totalOutdoorTellerIdleTime);
+        this.totalServiceEmployeeIdleTime = Math.addExact(this.totalServiceEmployeeIdleTime,
+                stats.totalServiceEmployeeIdleTime);
+
+        this.totalInterArrivalTime = Math.addExact(this.totalInterArrivalTime, stats.totalInterArrivalTime);
+
+        this.indoorTellersCount = stats.indoorTellersCount;
+        this.outdoorTellersCount = stats.outdoorTellersCount;
+        this.serviceEmployeesCount = stats.serviceEmployeesCount;
+
+        LatencyHistogram[] histograms = histograms();
+        LatencyHistogram[] otherHistograms = stats.histograms();
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i].merge(otherHistograms[i]);
+        }
+
+        timeOfDay.merge(stats.timeOfDay);
+
+        for (int i = 0; i < replicationMetrics.length; i++) {
+            replicationMetrics[i].merge(stats.replicationMetrics[i]);
+        }
+    }
+
+    /**
+     * @return the metrics computed by the last {@link #calculateStatistics}, or null if none were computed since
+     * the last reset
+     */
+    public SimulationMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        String format = "| %-40s | %-10s |%n";
+
+        sb.append("+------------------------------------------+------------+\n");
+        sb.append(String.format(format, "Metric", "Value"));
+        sb.append("+------------------------------------------+------------+\n");
+        sb.append(String.format(format, "totalCashServiceTime", totalCashServiceTime));
+        sb.append(String.format(format, "totalServiceServiceTime", totalServiceServiceTime));
+        sb.append(String.format(format, "totalIndoorTellerWaitTime", totalIndoorTellerWaitTime));
+        sb.append(String.format(format, "totalOutdoorTellerWaitTime", totalOutdoorTellerWaitTime));
+        sb.append(String.format(format, "totalServiceEmployeeWaitTime", totalServiceWaitTime));
+        sb.append(String.format(format, "maxIndoorTellerQueueSize", maxIndoorTellerQueueSize));
+        sb.append(String.format(format, "maxOutdoorTellerQueueSize", maxOutdoorTellerQueueSize));
+        sb.append(String.format(format, "maxServiceEmployeeQueueSize", maxServiceEmployeeQueueSize));
+        sb.append(String.format(format, "totalIndoorTellerQueueArea", totalIndoorTellerQueueArea));
+        sb.append(String.format(format, "totalOutdoorTellerQueueArea", totalOutdoorTellerQueueArea));
+        sb.append(String.format(format, "totalServiceEmployeeQueueArea", totalServiceEmployeeQueueArea));
+        sb.append(String.format(format, "totalIndoorTellerBusyTime", totalIndoorTellerBusyTime));
+        sb.append(String.format(format, "totalOutdoorTellerBusyTime", totalOutdoorTellerBusyTime));
+        sb.append(String.format(format, "totalServiceEmployeeBusyTime", totalServiceEmployeeBusyTime));
+        sb.append(String.format(format, "totalIndoorTellerWaitingCustomers", totalIndoorTellerWaitingCustomers));
+        sb.append(String.format(format, "totalOutdoorTellerWaitingCustomers", totalOutdoorTellerWaitingCustomers));
+        sb.append(String.format(format, "totalServiceEmployeeWaitingCustomers", totalServiceEmployeeWaitingCustomers));
+        sb.append(String.format(format, "totalIndoorTellerCustomers", totalIndoorTellerCustomers));
+        sb.append(String.format(format, "totalOutdoorTellerCustomers", totalOutdoorTellerCustomers));
+        sb.append(String.format(format, "totalServiceEmployeeCustomers", totalServiceEmployeeCustomers));
+        sb.append(String.format(format, "totalTime", totalTime));
+        sb.append(String.format(format, "totalIndoorTellerIdleTime", totalIndoorTellerIdleTime));
+        sb.append(String.format(format, "totalOutdoorTellerIdleTime", totalOutdoorTellerIdleTime));
+        sb.append(String.format(format, "totalServiceEmployeeIdleTime", totalServiceEmployeeIdleTime));
+        sb.append(String.format(format, "totalInterArrivalTime", totalInterArrivalTime));
+        sb.append("+------------------------------------------+------------+\n");
+
+        return sb.toString();
+    }
+}
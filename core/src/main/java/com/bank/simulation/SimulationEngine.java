@@ -0,0 +1,134 @@
+package com.bank.simulation;
+
+import com.bank.models.SimulationProgressListener;
+
+/**
+ * Runs studies for code that embeds the simulation, such as services and the batch runner. A study is described by a
+ * {@link SimulationModel} and a {@link Study} and returns its statistics as a {@link StudyResult}; nothing here
+ * touches {@link SimulationConfigs}, so one engine can serve any number of threads running different studies.
+ * <p>
+ * The engine picks the fastest options of {@link Simulator}: the compact engine, streaming arrivals and, unless built
+ * with a parallelism of 1, a parallel merge tree. Results depend only on the model, the study and its seed, never on
+ * the parallelism. Use {@link Simulator} directly to observe the events of a study or to cancel it.
+ */
+public final class SimulationEngine {
+    private final int parallelism;
+
+    /**
+     * Runs each study's replications on every core.
+     */
+    public SimulationEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism worker threads of each study, 1 runs its replications on the calling thread
+     */
+    public SimulationEngine(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * How long a study runs and how its confidence intervals are computed.
+     *
+     * @param seed                    master seed of the study, null for one taken from the clock
+     * @param targetRelativeHalfWidth stop once every confidence interval's half-width is within this fraction of its
+     *                                mean, null to run all runs
+     */
+    public record Study(
+            int days,
+            int customersPerDay,
+            int runs,
+            Long seed,
+            Double targetRelativeHalfWidth,
+            double confidenceLevel
+    ) {
+        public Study {
+            if (days < 1 || customersPerDay < 1 || runs < 1)
+                throw new IllegalArgumentException(
+                        "Days, customers per day and runs must be positive: " + days + ", " + customersPerDay + ", "
+                                + runs);
+            if (targetRelativeHalfWidth != null && !(targetRelativeHalfWidth > 0))
+                throw new IllegalArgumentException("Target half-width must be positive: " + targetRelativeHalfWidth);
+            if (!(confidenceLevel > 0 && confidenceLevel < 1))
+                throw new IllegalArgumentException("Confidence level must be between 0 and 1: " + confidenceLevel);
+        }
+
+        /**
+         * A study of all runs with a seed from the clock and 95% confidence intervals.
+         */
+        public Study(int days, int customersPerDay, int runs) {
+            this(days, customersPerDay, runs, null, null, 0.95);
+        }
+
+        public Study withSeed(Long seed) {
+            return new Study(days, customersPerDay, runs, seed, targetRelativeHalfWidth, confidenceLevel);
+        }
+
+        public Study withTargetRelativeHalfWidth(Double targetRelativeHalfWidth) {
+            return new Study(days, customersPerDay, runs, seed, targetRelativeHalfWidth, confidenceLevel);
+        }
+
+        public Study withConfidenceLevel(double confidenceLevel) {
+            return new Study(days, customersPerDay, runs, seed, targetRelativeHalfWidth, confidenceLevel);
+        }
+    }
+
+    /**
+     * Statistics of a finished study, with the seed, algorithm and arrival mode that replay it.
+     *
+     * @param completedRuns runs the study needed, fewer than asked for if it reached its target precision early
+     */
+    public record StudyResult(
+            long masterSeed,
+            String rngAlgorithm,
+            boolean streamingArrivals,
+            int completedRuns,
+            SimulationData firstDayStats,
+            SimulationData totalStats
+    ) {
+        public SimulationMetrics metrics() {
+            return totalStats.getMetrics();
+        }
+
+        public SimulationMetrics firstDayMetrics() {
+            return firstDayStats.getMetrics();
+        }
+    }
+
+    public StudyResult run(SimulationModel model, Study study) {
+        return run(model, study, null);
+    }
+
+    /**
+     * @param progressListener follows the study from its worker threads, may be null
+     * @throws IllegalArgumentException if a day of the study is longer than the simulation clock can hold
+     */
+    public StudyResult run(SimulationModel model, Study study, SimulationProgressListener progressListener) {
+        Simulator simulator = new Simulator();
+        simulator.setParallel(parallelism > 1);
+        simulator.setParallelism(parallelism);
+        simulator.setStreamingArrivals(true);
+        simulator.setCompactEngine(true);
+        simulator.setSimulationDays(study.days());
+        simulator.setSimulationCustomersCount(study.customersPerDay());
+        simulator.setSimulationRuns(study.runs());
+        simulator.setSeed(study.seed());
+        simulator.setTargetRelativeHalfWidth(study.targetRelativeHalfWidth());
+        simulator.setConfidenceLevel(study.confidenceLevel());
+        simulator.setProgressListener(progressListener);
+
+        simulator.startSimulation(model);
+
+        return new StudyResult(
+                simulator.getMasterSeed(),
+                Simulator.RNG_ALGORITHM,
+                simulator.isStreamingArrivals(),
+                simulator.getCompletedRuns(),
+                simulator.getFirstDayStats(),
+                simulator.getTotalStats()
+        );
+    }
+}
@@ -0,0 +1,374 @@
+package com.bank.simulation;
+
+import com.bank.models.SimulationEvent;
+import com.bank.models.SimulationEventRecord;
+import com.bank.models.SimulationListener;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Hands simulation events over to listeners running on their own threads.
+ * <p>
+ * The engine writes every event into a preallocated ring of slots, which costs a few field stores and no allocation.
+ * Each listener has a consumer thread that follows the ring with its own cursor, builds the
+ * {@link SimulationEventRecord}s and delivers them in batches. What happens when a listener falls a whole ring
+ * behind is chosen per listener with {@link Backpressure}.
+ * <p>
+ * A bus is single use: subscribe, {@link #start()}, then for each replication {@link #beginReplication} and publish
+ * from one thread, then {@link #close()}, which returns once every listener has been given everything it is going to
+ * get. The engine asks {@link #isSubscribed} before publishing, so events no listener of the current replication
+ * wants cost a single mask test.
+ * <p>
+ * A listener that throws an {@link Error} loses its consumer thread, and the bus stops waiting for it. An engine
+ * waiting for a blocking listener gives up with a {@link CancellationException} when the study is cancelled, the bus
+ * is closed or the publishing thread is interrupted.
+ */
+public class SimulationEventBus implements AutoCloseable {
+    public enum Backpressure {
+        // The engine waits for the listener, nothing is lost
+        BLOCK,
+        // The engine never waits, a listener that falls behind skips to the newest events
+        DROP_OLDEST,
+        // Like DROP_OLDEST, and the listener only gets one published event out of every sample interval
+        SAMPLE
+    }
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long IDLE_PARK_NANOS = 50_000;
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    private static final VarHandle STAMP;
+
+    static {
+        try {
+            STAMP = MethodHandles.lookup().findVarHandle(Slot.class, "stamp", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class Slot {
+        // Sequence of the event held, -1 while it is being overwritten
+        long stamp = -1;
+        SimulationEventRecord.Action action;
+        SimulationEvent event;
+        int serviceTime;
+        int departureTime;
+        int indoorTellerQueueSize;
+        int outdoorTellerQueueSize;
+        int serviceEmployeeQueueSize;
+        int currentTime;
+        int run;
+        int day;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong published = new AtomicLong(-1);
+    private final List<Consumer> consumers = new ArrayList<>();
+    private volatile boolean closed = false;
+    private boolean started = false;
+    // Whether the study publishing the events was cancelled
+    private final BooleanSupplier cancelled;
+
+    // Producer side only
+    private long nextSequence = 0;
+    private long gatingLimit = Long.MAX_VALUE;
+    private int run = 0;
+    private int day = 0;
+    // Event types at least one listener wants from the current replication
+    private int subscribedTypes = 0;
+
+    public SimulationEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity number of slots in the ring, must be a power of two
+     */
+    public SimulationEventBus(int capacity) {
+        this(capacity, () -> false);
+    }
+
+    /**
+     * @param capacity  number of slots in the ring, must be a power of two
+     * @param cancelled whether the study was cancelled, polled while the engine waits for a blocking listener
+     */
+    public SimulationEventBus(int capacity, BooleanSupplier cancelled) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+
+        this.cancelled = cancelled;
+        slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        mask = capacity - 1;
+    }
+
+    public void subscribe(SimulationListener listener, EventSubscription subscription) {
+        if (started)
+            throw new IllegalStateException("Listeners must subscribe before the bus starts");
+        if (subscription.sampleInterval() < 1)
+            throw new IllegalArgumentException("Sample interval must be positive: " + subscription.sampleInterval());
+
+        consumers.add(new Consumer(listener, subscription));
+    }
+
+    public void start() {
+        started = true;
+        gatingLimit = computeGatingLimit();
+        for (int i = 0; i < consumers.size(); i++) {
+            Thread thread = new Thread(consumers.get(i), "simulation-listener-" + i);
+            thread.setDaemon(true);
+            consumers.get(i).thread = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * @return whether any listener wants events from this replication
+     */
+    public boolean observes(int run, int day) {
+        for (Consumer consumer : consumers) {
+            if (consumer.subscription.replications().accepts(run, day)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tags the events published from now on with the given replication.
+     */
+    public void beginReplication(int run, int day) {
+        this.run = run;
+        this.day = day;
+        subscribedTypes = 0;
+        for (Consumer consumer : consumers) {
+            if (consumer.subscription.replications().accepts(run, day)) {
+                subscribedTypes |= consumer.subscription.typeMask();
+            }
+        }
+    }
+
+    public boolean isSubscribed(SimulationEventRecord.Type type) {
+        return (subscribedTypes & EventSubscription.bit(type)) != 0;
+    }
+
+    public void publish(
+            SimulationEventRecord.Action action,
+            SimulationEvent event,
+            int serviceTime,
+            int departureTime,
+            int indoorTellerQueueSize,
+            int outdoorTellerQueueSize,
+            int serviceEmployeeQueueSize,
+            int currentTime
+    ) {
+        long sequence = nextSequence;
+        if (sequence >= gatingLimit) {
+            awaitCapacity(sequence);
+        }
+
+        Slot slot = slots[(int) sequence & mask];
+        // Lets a lagging reader tell that the slot changed under it
+        STAMP.setOpaque(slot, -1L);
+        VarHandle.storeStoreFence();
+        slot.action = action;
+        slot.event = event;
+        slot.serviceTime = serviceTime;
+        slot.departureTime = departureTime;
+        slot.indoorTellerQueueSize = indoorTellerQueueSize;
+        slot.outdoorTellerQueueSize = outdoorTellerQueueSize;
+        slot.serviceEmployeeQueueSize = serviceEmployeeQueueSize;
+        slot.currentTime = currentTime;
+        slot.run = run;
+        slot.day = day;
+        STAMP.setRelease(slot, sequence);
+
+        published.setRelease(sequence);
+        nextSequence = sequence + 1;
+    }
+
+    private void awaitCapacity(long sequence) {
+        int spins = 0;
+        while (sequence >= (gatingLimit = computeGatingLimit())) {
+            if (closed || cancelled.getAsBoolean() || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Simulation cancelled while waiting for a listener");
+            }
+            if (++spins < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1_000);
+            }
+        }
+    }
+
+    // First sequence that would overwrite a slot a blocking listener hasn't read yet; stopped listeners read nothing
+    private long computeGatingLimit() {
+        long limit = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) {
+            if (consumer.subscription.backpressure() == Backpressure.BLOCK && !consumer.stopped) {
+                limit = Math.min(limit, consumer.cursor.getAcquire() + slots.length + 1);
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * @return events a listener lost to backpressure or sampling so far
+     */
+    public long getDroppedEvents(SimulationListener listener) {
+        for (Consumer consumer : consumers) {
+            if (consumer.listener == listener) return consumer.dropped;
+        }
+        throw new IllegalArgumentException("Listener is not subscribed");
+    }
+
+    /**
+     * Waits until every listener caught up with the published events, then stops the consumer threads. Listeners of a
+     * cancelled study only finish the batch they are in.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        boolean interrupted = false;
+        for (Consumer consumer : consumers) {
+            if (consumer.thread == null) continue;
+            LockSupport.unpark(consumer.thread);
+            while (true) {
+                try {
+                    consumer.thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class Consumer implements Runnable {
+        private final SimulationListener listener;
+        private final EventSubscription subscription;
+        private final int sampleInterval;
+        // Last sequence this consumer is done with
+        private final AtomicLong cursor = new AtomicLong(-1);
+        private final ArrayList<SimulationEventRecord> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        private volatile long dropped = 0;
+        // Set once the consumer thread exits, after close() or when its listener threw an Error
+        private volatile boolean stopped = false;
+        private Thread thread;
+
+        // Last replication seen and whether the subscription accepts it
+        private int lastRun = -1;
+        private int lastDay = -1;
+        private boolean acceptsReplication = false;
+
+        Consumer(SimulationListener listener, EventSubscription subscription) {
+            this.listener = listener;
+            this.subscription = subscription;
+            this.sampleInterval = subscription.backpressure() == Backpressure.SAMPLE ? subscription.sampleInterval() : 1;
+        }
+
+        @Override
+        public void run() {
+            try {
+                consume();
+            } finally {
+                stopped = true;
+            }
+        }
+
+        private void consume() {
+            long next = 0;
+            long lost = 0;
+            while (true) {
+                // Read before `published` so the last events published before close() are still delivered
+                boolean closing = closed;
+                // Nobody is waiting for the rest of a cancelled study's events
+                if (closing && cancelled.getAsBoolean()) break;
+                long available = published.getAcquire();
+                if (available < next) {
+                    if (closing) break;
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+
+                if (available - next >= slots.length) {
+                    // Lapped by the engine, only the last ring's worth of events is still there
+                    long resume = available - slots.length + 1;
+                    lost += resume - next;
+                    next = resume;
+                }
+
+                long end = Math.min(available, next + MAX_BATCH_SIZE - 1);
+                for (long sequence = next; sequence <= end; sequence++) {
+                    if (sequence % sampleInterval != 0) {
+                        lost++;
+                        continue;
+                    }
+                    SimulationEventRecord eventRecord = read(sequence);
+                    if (eventRecord == null) {
+                        lost++;
+                    } else if (wants(eventRecord)) {
+                        batch.add(eventRecord);
+                    }
+                }
+                // The records are copies, so the slots can be reused before the listener runs
+                cursor.setRelease(end);
+                next = end + 1;
+                dropped = lost;
+
+                if (!batch.isEmpty()) {
+                    try {
+                        listener.onEvents(batch);
+                    } catch (RuntimeException e) {
+                        System.err.println("Simulation listener failed: " + e.getMessage());
+                    }
+                    batch.clear();
+                }
+            }
+        }
+
+        private boolean wants(SimulationEventRecord eventRecord) {
+            if (eventRecord.run() != lastRun || eventRecord.day() != lastDay) {
+                lastRun = eventRecord.run();
+                lastDay = eventRecord.day();
+                acceptsReplication = subscription.replications().accepts(lastRun, lastDay);
+            }
+            return acceptsReplication && subscription.accepts(eventRecord.type());
+        }
+
+        // The event at `sequence`, or null if the engine overwrote it while it was being read
+        private SimulationEventRecord read(long sequence) {
+            Slot slot = slots[(int) sequence & mask];
+            if ((long) STAMP.getAcquire(slot) != sequence) return null;
+
+            SimulationEventRecord eventRecord = new SimulationEventRecord(
+                    slot.action,
+                    slot.event,
+                    slot.serviceTime,
+                    slot.departureTime,
+                    slot.indoorTellerQueueSize,
+                    slot.outdoorTellerQueueSize,
+                    slot.serviceEmployeeQueueSize,
+                    slot.currentTime,
+                    slot.run,
+                    slot.day
+            );
+
+            VarHandle.loadLoadFence();
+            return (long) STAMP.getOpaque(slot) == sequence ? eventRecord : null;
+        }
+    }
+}
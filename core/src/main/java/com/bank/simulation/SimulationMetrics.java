@@ -0,0 +1,171 @@
+package com.bank.simulation;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Values of a study's metrics and the half-widths of their confidence intervals, indexed by {@link Metric}. Whole
+ * numbers are stored exactly as doubles up to 2^53, far beyond any count a study can reach.
+ * <p>
+ * Serialized by metric name rather than ordinal, so records keep their values when metrics are added or reordered.
+ */
+public final class SimulationMetrics implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final Metric[] METRICS = Metric.values();
+
+    // NaN where the metric was not measured
+    private transient double[] values;
+    // NaN where the metric has no confidence interval
+    private transient double[] halfWidths;
+
+    public SimulationMetrics() {
+        values = new double[METRICS.length];
+        halfWidths = new double[METRICS.length];
+        Arrays.fill(values, Double.NaN);
+        Arrays.fill(halfWidths, Double.NaN);
+    }
+
+    public void set(Metric metric, double value) {
+        values[metric.ordinal()] = value;
+    }
+
+    public void set(Metric metric, double value, double halfWidth) {
+        values[metric.ordinal()] = value;
+        halfWidths[metric.ordinal()] = halfWidth;
+    }
+
+    public boolean has(Metric metric) {
+        return !Double.isNaN(values[metric.ordinal()]);
+    }
+
+    /**
+     * @return the value, NaN if the metric was not measured
+     */
+    public double get(Metric metric) {
+        return values[metric.ordinal()];
+    }
+
+    /**
+     * @throws IllegalArgumentException if the metric is not a whole number
+     */
+    public long getLong(Metric metric) {
+        if (!metric.getUnit().isWhole())
+            throw new IllegalArgumentException(metric + " is not a whole number");
+        return (long) values[metric.ordinal()];
+    }
+
+    /**
+     * @return the half-width of the confidence interval, NaN if the metric has none
+     */
+    public double getHalfWidth(Metric metric) {
+        return halfWidths[metric.ordinal()];
+    }
+
+    public boolean hasConfidenceInterval(Metric metric) {
+        return !Double.isNaN(halfWidths[metric.ordinal()]);
+    }
+
+    public String format(Metric metric) {
+        return has(metric) ? metric.format(get(metric)) : "";
+    }
+
+    public String formatConfidenceInterval(Metric metric) {
+        return hasConfidenceInterval(metric) ? "± " + metric.format(getHalfWidth(metric)) : "";
+    }
+
+    /**
+     * @return the measured metrics, in display order
+     */
+    public List<Metric> getMetrics() {
+        List<Metric> metrics = new ArrayList<>();
+        for (Metric metric : METRICS) {
+            if (has(metric)) {
+                metrics.add(metric);
+            }
+        }
+        return metrics;
+    }
+
+    public List<Metric> getMetrics(Metric.Group group) {
+        List<Metric> metrics = new ArrayList<>();
+        for (Metric metric : METRICS) {
+            if (metric.getGroup() == group && has(metric)) {
+                metrics.add(metric);
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @return a copy holding only the given metrics
+     */
+    public SimulationMetrics select(Metric... metrics) {
+        SimulationMetrics selected = new SimulationMetrics();
+        for (Metric metric : metrics) {
+            selected.set(metric, get(metric), getHalfWidth(metric));
+        }
+        return selected;
+    }
+
+    /**
+     * Converts the text statistics of records saved before metrics were kept as numbers. Statistics that no longer
+     * match a metric, or whose text does not parse, are left out.
+     */
+    public static SimulationMetrics fromStatistics(List<SimulationData.Statistic> statistics) {
+        SimulationMetrics metrics = new SimulationMetrics();
+        for (SimulationData.Statistic statistic : statistics) {
+            Metric metric = Metric.forLabel(statistic.label());
+            if (metric == null) continue;
+            try {
+                double halfWidth = statistic.confidenceInterval() == null
+                        ? Double.NaN
+                        : metric.parse(statistic.confidenceInterval().replace("±", ""));
+                metrics.set(metric, metric.parse(statistic.value()), halfWidth);
+            } catch (NumberFormatException e) {
+                // Formatted in a locale the parser does not read, shown as not measured
+            }
+        }
+        return metrics;
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        List<Metric> metrics = getMetrics();
+        out.writeInt(metrics.size());
+        for (Metric metric : metrics) {
+            out.writeUTF(metric.name());
+            out.writeDouble(get(metric));
+            out.writeDouble(getHalfWidth(metric));
+        }
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        values = new double[METRICS.length];
+        halfWidths = new double[METRICS.length];
+        Arrays.fill(values, Double.NaN);
+        Arrays.fill(halfWidths, Double.NaN);
+
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String name = in.readUTF();
+            double value = in.readDouble();
+            double halfWidth = in.readDouble();
+            try {
+                set(Metric.valueOf(name), value, halfWidth);
+            } catch (IllegalArgumentException e) {
+                // Metric removed since the record was saved
+            }
+        }
+    }
+}
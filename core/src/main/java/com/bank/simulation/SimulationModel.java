@@ -0,0 +1,166 @@
+package com.bank.simulation;
+
+import com.bank.models.EmployeeData;
+import com.bank.models.EmployeeSelectionPolicy;
+import com.bank.models.ProbabilityDistribution;
+import com.bank.models.ServiceType;
+import com.bank.models.SimulationHistoryRecord;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of {@link SimulationConfigs}, compiled once per study. Employees are already split into their
+ * pools and every distribution is compiled, so replications read it on every arrival without copying or filtering,
+ * and any number of threads can share it while the settings keep changing.
+ */
+public final class SimulationModel {
+    private final List<EmployeeData> outdoorTellers;
+    private final List<EmployeeData> indoorTellers;
+    private final List<EmployeeData> serviceEmployees;
+    private final int outdoorQueueCapacity;
+    private final double cashCustomerProbability;
+    private final EmployeeSelectionPolicy employeeSelectionPolicy;
+    private final ProbabilityDistribution timeBetweenArrivalDistribution;
+
+    private SimulationModel(
+            List<EmployeeData> outdoorTellers,
+            List<EmployeeData> indoorTellers,
+            List<EmployeeData> serviceEmployees,
+            int outdoorQueueCapacity,
+            double cashCustomerProbability,
+            EmployeeSelectionPolicy employeeSelectionPolicy,
+            Map<Integer, Double> timeBetweenArrivalProbabilities
+    ) {
+        this.outdoorTellers = copyEmployees(outdoorTellers);
+        this.indoorTellers = copyEmployees(indoorTellers);
+        this.serviceEmployees = copyEmployees(serviceEmployees);
+        this.outdoorQueueCapacity = outdoorQueueCapacity;
+        this.cashCustomerProbability = cashCustomerProbability;
+        this.employeeSelectionPolicy = employeeSelectionPolicy;
+        this.timeBetweenArrivalDistribution = new ProbabilityDistribution(
+                new LinkedHashMap<>(timeBetweenArrivalProbabilities));
+    }
+
+    public static SimulationModel from(SimulationConfigs configs) {
+        return new SimulationModel(
+                configs.getOutdoorCashEmployeesData(),
+                configs.getIndoorCashEmployeesData(),
+                configs.getIndoorServiceEmployeesData(),
+                configs.getOutdoorQueueCapacity(),
+                configs.getCashCustomerProbability(),
+                configs.getEmployeeSelectionPolicy(),
+                configs.getTimeBetweenArrivalProbabilities()
+        );
+    }
+
+    /**
+     * Builds a model straight from its settings, without going through the shared {@link SimulationConfigs}, so code
+     * embedding the engine can run any number of differently configured studies side by side.
+     *
+     * @param employees employees of all pools, in the order the selection policy sees them
+     */
+    public static SimulationModel of(
+            List<EmployeeData> employees,
+            int outdoorQueueCapacity,
+            double cashCustomerProbability,
+            EmployeeSelectionPolicy employeeSelectionPolicy,
+            Map<Integer, Double> timeBetweenArrivalProbabilities
+    ) {
+        List<EmployeeData> outdoorTellers = new ArrayList<>();
+        List<EmployeeData> indoorTellers = new ArrayList<>();
+        List<EmployeeData> serviceEmployees = new ArrayList<>();
+        for (EmployeeData employee : employees) {
+            if (employee.getType() == ServiceType.SERVICE) {
+                serviceEmployees.add(employee);
+            } else if (employee.getArea() == EmployeeData.Area.OUTDOOR) {
+                outdoorTellers.add(employee);
+            } else {
+                indoorTellers.add(employee);
+            }
+        }
+        return new SimulationModel(
+                outdoorTellers,
+                indoorTellers,
+                serviceEmployees,
+                outdoorQueueCapacity,
+                cashCustomerProbability,
+                employeeSelectionPolicy,
+                timeBetweenArrivalProbabilities
+        );
+    }
+
+    /**
+     * Rebuilds the model a study saved in the history ran on, so any of its days can be replayed from the seed.
+     */
+    public static SimulationModel from(SimulationHistoryRecord.SimulationConfigSnapshot snapshot) {
+        List<EmployeeData> employees = new ArrayList<>();
+        for (SimulationHistoryRecord.EmployeeConfigSnapshot employee : snapshot.getEmployees()) {
+            employees.add(new EmployeeData(
+                    EmployeeData.Area.valueOf(employee.getArea()),
+                    ServiceType.valueOf(employee.getType()),
+                    employee.getId(),
+                    employee.getServiceTimeProbabilities()
+            ));
+        }
+        return of(
+                employees,
+                snapshot.getOutdoorQueueCapacity(),
+                snapshot.getCashCustomerProbability(),
+                snapshot.getEmployeeSelectionPolicy(),
+                snapshot.getTimeBetweenArrivalProbabilities()
+        );
+    }
+
+    // Copies the probability maps too, so later edits to the settings can't leak into a running study
+    private static List<EmployeeData> copyEmployees(List<EmployeeData> employees) {
+        return employees.stream()
+                .map(e -> new EmployeeData(e.getArea(), e.getType(), e.getId(),
+                        new LinkedHashMap<>(e.getServiceTimeProbabilities())))
+                .toList();
+    }
+
+    /**
+     * Upper bound of the length of a day with the given number of customers: even if every customer arrived as late
+     * as possible and was served one after the other, the last would leave by then.
+     */
+    public long maxDayLength(int customers) {
+        int maxServiceTime = 0;
+        for (List<EmployeeData> pool : List.of(outdoorTellers, indoorTellers, serviceEmployees)) {
+            for (EmployeeData employee : pool) {
+                maxServiceTime = Math.max(maxServiceTime, employee.getMaxServiceTime());
+            }
+        }
+        return (long) customers * ((long) timeBetweenArrivalDistribution.getMaxValue() + maxServiceTime);
+    }
+
+    public List<EmployeeData> getOutdoorTellers() {
+        return outdoorTellers;
+    }
+
+    public List<EmployeeData> getIndoorTellers() {
+        return indoorTellers;
+    }
+
+    public List<EmployeeData> getServiceEmployees() {
+        return serviceEmployees;
+    }
+
+    public int getOutdoorQueueCapacity() {
+        return outdoorQueueCapacity;
+    }
+
+    public double getCashCustomerProbability() {
+        return cashCustomerProbability;
+    }
+
+    public EmployeeSelectionPolicy getEmployeeSelectionPolicy() {
+        return employeeSelectionPolicy;
+    }
+
+    public ProbabilityDistribution getTimeBetweenArrivalDistribution() {
+        return timeBetweenArrivalDistribution;
+    }
+}
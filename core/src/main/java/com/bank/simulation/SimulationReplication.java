@@ -0,0 +1,358 @@
+package com.bank.simulation;
+
+import com.bank.models.*;
+
+import java.util.*;
+
+/**
+ * Runs simulated days one at a time. All mutable simulation state (event queue, customer queues, employees,
+ * statistics and the random streams) lives here, so separate replications can run concurrently without sharing
+ * anything. An instance is reused for many days and only resets its state between them.
+ */
+class SimulationReplication {
+    private final SimulationModel model;
+    private final int customersCount;
+    private final boolean streamingArrivals;
+
+    private final ReplicationRandom arrivalRand = new ReplicationRandom(0);
+    private final ReplicationRandom serviceRand = new ReplicationRandom(0);
+    private final ReplicationRandom routingRand = new ReplicationRandom(0);
+    private SimulationEventBus eventBus;
+    private QueueLengthSeries queueLengthSeries;
+
+    private final EventCalendar events;
+
+    private final CustomerQueue outdoorTellerQueue = new CustomerQueue();
+    private final CustomerQueue indoorTellerQueue = new CustomerQueue();
+    private final CustomerQueue serviceEmployeeQueue = new CustomerQueue();
+
+    private final List<Employee> outdoorTellers;
+    private final List<Employee> indoorTellers;
+    private final List<Employee> serviceEmployees;
+
+    private final IdleEmployeeIndex idleOutdoorTellers;
+    private final IdleEmployeeIndex idleIndoorTellers;
+    private final IdleEmployeeIndex idleServiceEmployees;
+
+    private int currentTime = 0;
+    private int lastArrivalTime = 0;
+    private int scheduledCustomers = 0;
+    private SimulationData currentStats;
+
+    SimulationReplication(
+            SimulationModel model,
+            int customersCount,
+            boolean streamingArrivals,
+            EventCalendar events
+    ) {
+        this.model = model;
+        this.customersCount = customersCount;
+        this.streamingArrivals = streamingArrivals;
+        this.events = events;
+
+        this.idleOutdoorTellers = new IdleEmployeeIndex(model.getOutdoorTellers().size());
+        this.idleIndoorTellers = new IdleEmployeeIndex(model.getIndoorTellers().size());
+        this.idleServiceEmployees = new IdleEmployeeIndex(model.getServiceEmployees().size());
+
+        this.outdoorTellers = createEmployees(model.getOutdoorTellers(), outdoorTellerQueue, idleOutdoorTellers);
+        this.indoorTellers = createEmployees(model.getIndoorTellers(), indoorTellerQueue, idleIndoorTellers);
+        this.serviceEmployees = createEmployees(model.getServiceEmployees(), serviceEmployeeQueue, idleServiceEmployees);
+    }
+
+    /**
+     * Runs one day.
+     *
+     * @param eventBus receives the subscribed events of the day, or {@code null} to record nothing
+     */
+    SimulationData run(long seed, SimulationEventBus eventBus) {
+        return run(seed, eventBus, null);
+    }
+
+    /**
+     * Runs one day.
+     *
+     * @param eventBus          receives the subscribed events of the day, or {@code null} to record nothing
+     * @param queueLengthSeries receives the queue lengths and occupancy after every event, or {@code null}
+     */
+    SimulationData run(long seed, SimulationEventBus eventBus, QueueLengthSeries queueLengthSeries) {
+        // Arrivals and services draw from separate streams, so the same customers arrive whether arrivals are
+        // generated upfront or one at a time between service draws
+        arrivalRand.setSeed(seed);
+        serviceRand.setSeed(ReplicationRandom.serviceSeed(seed));
+        routingRand.setSeed(ReplicationRandom.routingSeed(seed));
+        this.eventBus = eventBus;
+        this.queueLengthSeries = queueLengthSeries;
+
+        currentTime = 0;
+        lastArrivalTime = 0;
+        scheduledCustomers = 0;
+        currentStats = new SimulationData();
+        events.clear();
+        outdoorTellerQueue.clear();
+        indoorTellerQueue.clear();
+        serviceEmployeeQueue.clear();
+
+        idleOutdoorTellers.reset();
+        idleIndoorTellers.reset();
+        idleServiceEmployees.reset();
+        outdoorTellers.forEach(Employee::reset);
+        indoorTellers.forEach(Employee::reset);
+        serviceEmployees.forEach(Employee::reset);
+
+        if (streamingArrivals) {
+            if (customersCount > 0) scheduleNextArrival();
+        } else {
+            while (scheduledCustomers < customersCount) scheduleNextArrival();
+        }
+
+        currentTime = 0;
+        while (!events.isEmpty()) {
+            SimulationEvent event = events.poll();
+            currentTime = event.getTime();
+
+            if (event.getType() == SimulationEvent.Type.ARRIVAL) {
+                handleArrival(event);
+            } else {
+                handleDeparture(event);
+            }
+            int queued = indoorTellerQueue.size() + outdoorTellerQueue.size() + serviceEmployeeQueue.size();
+            int busyEmployees = busyEmployees();
+            currentStats.timeOfDay.advance(currentTime, queued, busyEmployees);
+            if (queueLengthSeries != null) {
+                recordQueueLengths(queued, busyEmployees);
+            }
+        }
+
+        currentStats.totalTime = currentTime;
+        currentStats.timeOfDay.finishDay(currentTime,
+                outdoorTellers.size() + indoorTellers.size() + serviceEmployees.size());
+        if (queueLengthSeries != null) {
+            queueLengthSeries.finish(currentTime);
+        }
+
+        outdoorTellers.forEach(e -> e.updateTotalIdle(currentTime));
+        currentStats.totalOutdoorTellerIdleTime =
+                outdoorTellers.stream().mapToLong(Employee::getTotalIdle).sum();
+
+        indoorTellers.forEach(e -> e.updateTotalIdle(currentTime));
+        currentStats.totalIndoorTellerIdleTime =
+                indoorTellers.stream().mapToLong(Employee::getTotalIdle).sum();
+
+        serviceEmployees.forEach(e -> e.updateTotalIdle(currentTime));
+        currentStats.totalServiceEmployeeIdleTime =
+                serviceEmployees.stream().mapToLong(Employee::getTotalIdle).sum();
+
+        currentStats.maxOutdoorTellerQueueSize = outdoorTellerQueue.getMaxSize();
+        currentStats.maxIndoorTellerQueueSize = indoorTellerQueue.getMaxSize();
+        currentStats.maxServiceEmployeeQueueSize = serviceEmployeeQueue.getMaxSize();
+        currentStats.totalOutdoorTellerQueueArea = outdoorTellerQueue.getArea(currentTime);
+        currentStats.totalIndoorTellerQueueArea = indoorTellerQueue.getArea(currentTime);
+        currentStats.totalServiceEmployeeQueueArea = serviceEmployeeQueue.getArea(currentTime);
+
+        currentStats.indoorTellersCount = indoorTellers.size();
+        currentStats.outdoorTellersCount = outdoorTellers.size();
+        currentStats.serviceEmployeesCount = serviceEmployees.size();
+
+        this.eventBus = null;
+        this.queueLengthSeries = null;
+        return currentStats;
+    }
+
+    private int busyEmployees() {
+        return outdoorTellers.size() - idleOutdoorTellers.idleCount()
+                + indoorTellers.size() - idleIndoorTellers.idleCount()
+                + serviceEmployees.size() - idleServiceEmployees.idleCount();
+    }
+
+    private void recordQueueLengths(int queued, int busyEmployees) {
+        queueLengthSeries.set(QueueLengthSeries.INDOOR_TELLER_QUEUE, currentTime, indoorTellerQueue.size());
+        queueLengthSeries.set(QueueLengthSeries.OUTDOOR_TELLER_QUEUE, currentTime, outdoorTellerQueue.size());
+        queueLengthSeries.set(QueueLengthSeries.SERVICE_EMPLOYEE_QUEUE, currentTime, serviceEmployeeQueue.size());
+        queueLengthSeries.set(QueueLengthSeries.BUSY_EMPLOYEES, currentTime, busyEmployees);
+        queueLengthSeries.set(QueueLengthSeries.CUSTOMERS_IN_BANK, currentTime, queued + busyEmployees);
+    }
+
+    private List<Employee> createEmployees(List<EmployeeData> data, CustomerQueue queue, IdleEmployeeIndex idleIndex) {
+        List<Employee> employees = new ArrayList<>(data.size());
+        for (int i = 0; i < data.size(); i++) {
+            employees.add(new Employee(data.get(i), queue, idleIndex, i));
+        }
+        return employees;
+    }
+
+    /**
+     * Picks the idle employee of a pool that takes the next customer according to the selection policy.
+     *
+     * @return the employee's number within the pool, or -1 if everyone is busy
+     */
+    private int selectIdleEmployee(IdleEmployeeIndex idleIndex) {
+        return switch (model.getEmployeeSelectionPolicy()) {
+            case FIRST_IDLE -> idleIndex.first();
+            case LONGEST_IDLE -> idleIndex.longestIdle();
+            case RANDOM_IDLE -> idleIndex.idleCount() == 0 ? -1 : idleIndex.random(routingRand.nextDouble());
+        };
+    }
+
+    /**
+     * Draws the next customer and adds its arrival to the event queue. In streaming mode this is called once per
+     * handled arrival, so the queue never holds more than one pending arrival plus one departure per employee.
+     */
+    private void scheduleNextArrival() {
+        int timeBetweenCustomer = model.getTimeBetweenArrivalDistribution().getProbabilityValue(arrivalRand.nextDouble());
+        int arrivalTime = lastArrivalTime + timeBetweenCustomer;
+
+        currentStats.totalInterArrivalTime += timeBetweenCustomer;
+
+        ServiceType serviceType = arrivalRand.nextDouble() <= model.getCashCustomerProbability()
+                ? ServiceType.CASH : ServiceType.SERVICE;
+
+        Customer customer = new Customer(serviceType, arrivalTime, scheduledCustomers++);
+
+        events.add(new SimulationEvent(SimulationEvent.Type.ARRIVAL, arrivalTime, customer));
+
+        lastArrivalTime = arrivalTime;
+    }
+
+    private void handleArrival(SimulationEvent event) {
+        Customer c = event.getCustomer();
+        if (streamingArrivals && scheduledCustomers < customersCount) {
+            scheduleNextArrival();
+        }
+        printEvent(SimulationEventRecord.Action.CUSTOMER_ARRIVED, event);
+        currentStats.timeOfDay.recordArrival(currentTime);
+
+        if (c.serviceType() == ServiceType.CASH)
+            routeToOutdoorTeller(event);
+        else
+            routeToServiceEmployee(event);
+    }
+
+    private void routeToOutdoorTeller(SimulationEvent event) {
+        Customer c = event.getCustomer();
+        if (outdoorTellerQueue.size() >= model.getOutdoorQueueCapacity()) {
+            printEvent(SimulationEventRecord.Action.REROUTED_INDOOR, event);
+            routeToIndoorTeller(event);
+        } else {
+            int idleEmployee = selectIdleEmployee(idleOutdoorTellers);
+            Employee availableEmployee = idleEmployee < 0 ? null : outdoorTellers.get(idleEmployee);
+            if (availableEmployee != null) {
+                serveCustomer(c, availableEmployee);
+            } else {
+                outdoorTellerQueue.offer(c.id(), currentTime);
+                printEvent(SimulationEventRecord.Action.JOINED_OUTDOOR_QUEUE, event);
+                currentStats.totalOutdoorTellerWaitingCustomers++;
+            }
+
+            currentStats.totalOutdoorTellerCustomers++;
+        }
+    }
+
+    private void routeToIndoorTeller(SimulationEvent event) {
+        Customer c = event.getCustomer();
+        int idleEmployee = selectIdleEmployee(idleIndoorTellers);
+        Employee availableEmployee = idleEmployee < 0 ? null : indoorTellers.get(idleEmployee);
+        if (availableEmployee != null) {
+            serveCustomer(c, availableEmployee);
+        } else {
+            indoorTellerQueue.offer(c.id(), currentTime);
+            printEvent(SimulationEventRecord.Action.JOINED_INDOOR_QUEUE, event);
+            currentStats.totalIndoorTellerWaitingCustomers++;
+        }
+
+        currentStats.totalIndoorTellerCustomers++;
+    }
+
+    private void routeToServiceEmployee(SimulationEvent event) {
+        Customer c = event.getCustomer();
+        int idleEmployee = selectIdleEmployee(idleServiceEmployees);
+        Employee availableEmployee = idleEmployee < 0 ? null : serviceEmployees.get(idleEmployee);
+        if (availableEmployee != null) {
+            serveCustomer(c, availableEmployee);
+        } else {
+            serviceEmployeeQueue.offer(c.id(), currentTime);
+            printEvent(SimulationEventRecord.Action.JOINED_SERVICE_QUEUE, event);
+            currentStats.totalServiceEmployeeWaitingCustomers++;
+        }
+
+        currentStats.totalServiceEmployeeCustomers++;
+    }
+
+    private void serveCustomer(Customer customer, Employee employee) {
+        customer.setServiceTimeStart(currentTime);
+        employee.setBusy(currentTime);
+
+        EmployeeData employeeData = employee.getEmployeeData();
+        int serviceTime = employeeData.getServiceTime(serviceRand.nextDouble());
+        int departureTime = currentTime + serviceTime;
+
+        int waitTime = currentTime - customer.arrivalTime();
+        currentStats.timeOfDay.recordWait(customer.arrivalTime(), waitTime);
+        if (employeeData.getType() == ServiceType.CASH) {
+            currentStats.totalCashServiceTime += serviceTime;
+            if (employeeData.getArea() == EmployeeData.Area.OUTDOOR) {
+                currentStats.totalOutdoorTellerWaitTime += waitTime;
+                currentStats.totalOutdoorTellerBusyTime += serviceTime;
+                currentStats.outdoorTellerWaitTimes.record(waitTime);
+                currentStats.outdoorTellerSojournTimes.record(waitTime + serviceTime);
+                currentStats.outdoorTellerServiceTimes.record(serviceTime);
+            } else {
+                currentStats.totalIndoorTellerWaitTime += waitTime;
+                currentStats.totalIndoorTellerBusyTime += serviceTime;
+                currentStats.indoorTellerWaitTimes.record(waitTime);
+                currentStats.indoorTellerSojournTimes.record(waitTime + serviceTime);
+                currentStats.indoorTellerServiceTimes.record(serviceTime);
+            }
+        } else {
+            currentStats.totalServiceServiceTime += serviceTime;
+            currentStats.totalServiceWaitTime += waitTime;
+            currentStats.totalServiceEmployeeBusyTime += serviceTime;
+            currentStats.serviceEmployeeWaitTimes.record(waitTime);
+            currentStats.serviceEmployeeSojournTimes.record(waitTime + serviceTime);
+            currentStats.serviceEmployeeServiceTimes.record(serviceTime);
+        }
+
+        SimulationEvent event = new SimulationEvent(SimulationEvent.Type.DEPARTURE, departureTime, customer, employee);
+
+        printEvent(SimulationEventRecord.Action.SERVICE_STARTED, event, serviceTime, departureTime);
+
+        events.add(event);
+    }
+
+    private void handleDeparture(SimulationEvent event) {
+        currentTime = event.getTime();
+        Employee employee = event.getEmployeeStatus();
+
+        employee.setIdle(currentTime);
+        printEvent(SimulationEventRecord.Action.SERVICE_COMPLETED, event);
+
+        CustomerQueue assignedQueue = employee.getAssignedQueue();
+        if (!assignedQueue.isEmpty()) {
+            // Customers join a line the moment they arrive and a pool serves one type, so the line's entry holds
+            // everything about the customer and the day's customers need not be kept
+            int arrivalTime = assignedQueue.peekEntryTime();
+            Customer next = new Customer(employee.getEmployeeData().getType(), arrivalTime,
+                    assignedQueue.poll(currentTime));
+            printEvent(SimulationEventRecord.Action.NEXT_CUSTOMER, event);
+            serveCustomer(next, employee);
+        }
+    }
+
+    private void printEvent(SimulationEventRecord.Action action, SimulationEvent event) {
+        printEvent(action, event, 0, 0);
+    }
+
+    // Only stores a few fields when someone listens, the record and its description are built by the listener side
+    private void printEvent(SimulationEventRecord.Action action, SimulationEvent event, int serviceTime, int departureTime) {
+        if (eventBus == null || !eventBus.isSubscribed(action.getType())) return;
+
+        eventBus.publish(
+                action,
+                event,
+                serviceTime,
+                departureTime,
+                indoorTellerQueue.size(),
+                outdoorTellerQueue.size(),
+                serviceEmployeeQueue.size(),
+                currentTime);
+    }
+}
@@ -0,0 +1,505 @@
+package com.bank.simulation;
+
+import com.bank.models.*;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class Simulator {
+    /**
+     * Random generator and seed derivation of every study, saved next to the master seed so a replay can tell whether
+     * it would reproduce the same days.
+     */
+    public static final String RNG_ALGORITHM = ReplicationRandom.ALGORITHM;
+
+    // Replications reduced sequentially inside one leaf of the merge tree. Fixed (not derived from the core count) so
+    // the reduction has the same shape in sequential and parallel mode.
+    private static final int REPLICATIONS_PER_LEAF = 16;
+    // Replications run before the first precision check of a sequential study
+    private static final int PILOT_REPLICATIONS = 10;
+
+    private int simulationDays = 10;
+    private int simulationCustomersCount = 10;
+    private int simulationRuns = 10;
+
+    private boolean parallel = false;
+    private boolean streamingArrivals = false;
+    private boolean compactEngine = false;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private Supplier<EventCalendar> eventCalendarFactory = BucketEventCalendar::new;
+    private Long seed = null;
+    private double confidenceLevel = 0.95;
+    private Double targetRelativeHalfWidth = null;
+    private int queueLengthPoints = 0;
+
+    private final ArrayList<SimulationListener> listeners = new ArrayList<>();
+    private final ArrayList<EventSubscription> subscriptions = new ArrayList<>();
+    private int eventBufferSize = SimulationEventBus.DEFAULT_CAPACITY;
+    private SimulationProgressListener progressListener;
+
+    private volatile boolean cancelled = false;
+    private final AtomicInteger completedReplications = new AtomicInteger();
+    private int totalReplications;
+
+    private SimulationModel model;
+    private long masterSeed;
+    private int completedRuns;
+    private ThreadLocal<SimulationReplication> replications;
+    private ThreadLocal<CompactReplication> compactReplications;
+    private SimulationData firstDayStats;
+    private QueueLengthSeries firstDayQueueLengths;
+    // Replications run with listeners attached, by index, merged in place of rerunning them
+    private Map<Integer, SimulationData> observedStats;
+    private SimulationData totalStats;
+
+    public Simulator() {
+    }
+
+    /**
+     * Runs a study on a snapshot of the current {@link SimulationConfigs}.
+     */
+    public void startSimulation() {
+        startSimulation(SimulationModel.from(SimulationConfigs.instance));
+    }
+
+    /**
+     * Runs a study on the given model.
+     *
+     * @throws CancellationException if {@link #cancel()} was called since the last {@link #resetCancellation()}
+     */
+    public void startSimulation(SimulationModel model) {
+        checkDayLength(model);
+        this.model = model;
+        masterSeed = seed != null ? seed : System.currentTimeMillis();
+        completedReplications.set(0);
+        totalReplications = Math.multiplyExact(simulationRuns, simulationDays);
+
+        totalStats = new SimulationData();
+        firstDayStats = null;
+        firstDayQueueLengths = null;
+        // One engine of each kind per worker thread, reused for all the days that thread runs
+        replications = ThreadLocal.withInitial(() -> new SimulationReplication(
+                model,
+                simulationCustomersCount,
+                streamingArrivals,
+                eventCalendarFactory.get()
+        ));
+        compactReplications = ThreadLocal.withInitial(() -> new CompactReplication(
+                model,
+                simulationCustomersCount,
+                streamingArrivals
+        ));
+
+        completedRuns = 0;
+        if (cancelled) {
+            throw new CancellationException("Simulation cancelled");
+        }
+        if (totalReplications > 0) {
+            // The first day and the days listeners observe run on the calling thread, in order
+            observedStats = new HashMap<>();
+            ForkJoinPool pool = parallel ? new ForkJoinPool(parallelism) : null;
+            try (SimulationEventBus eventBus = createEventBus()) {
+                runFirstDay(eventBus);
+                if (targetRelativeHalfWidth == null) {
+                    totalStats = runReplications(0, simulationRuns, eventBus, pool);
+                    completedRuns = simulationRuns;
+                } else {
+                    totalStats = runUntilPrecise(eventBus, pool);
+                }
+            } finally {
+                if (pool != null) {
+                    pool.shutdown();
+                }
+            }
+        }
+        replications = null;
+        compactReplications = null;
+        observedStats = null;
+
+        totalStats.confidenceLevel = confidenceLevel;
+        totalStats.calculateStatistics();
+    }
+
+    /**
+     * Runs every day of runs {@code [fromRun, toRun)}: first the observed ones on the calling thread, then the rest
+     * through the merge tree.
+     */
+    private SimulationData runReplications(int fromRun, int toRun, SimulationEventBus eventBus, ForkJoinPool pool) {
+        int from = fromRun * simulationDays;
+        int to = toRun * simulationDays;
+        if (eventBus != null) {
+            for (int i = Math.max(from, 1); i < to; i++) {
+                if (eventBus.observes(i / simulationDays, i % simulationDays)) {
+                    if (cancelled) {
+                        throw new CancellationException("Simulation cancelled");
+                    }
+                    observedStats.put(i, runObservedReplication(i, eventBus));
+                    replicationFinished();
+                }
+            }
+        }
+
+        if (pool != null && to - from > REPLICATIONS_PER_LEAF) {
+            return pool.invoke(new ReplicationTask(from, to));
+        }
+        return new ReplicationTask(from, to).reduce();
+    }
+
+    /**
+     * Adds runs until every statistic's confidence interval is within the target relative half-width, or the
+     * configured number of runs is reached. Each step runs at most as many runs as are already done, aiming at the
+     * count the current variance says is needed, so a noisy start can't send the study far past the target.
+     */
+    private SimulationData runUntilPrecise(SimulationEventBus eventBus, ForkJoinPool pool) {
+        int runs = Math.min(simulationRuns, Math.max(1, (PILOT_REPLICATIONS + simulationDays - 1) / simulationDays));
+        SimulationData stats = runReplications(0, runs, eventBus, pool);
+        stats.confidenceLevel = confidenceLevel;
+
+        while (runs < simulationRuns) {
+            double relativeHalfWidth = stats.maxRelativeHalfWidth();
+            if (relativeHalfWidth <= targetRelativeHalfWidth) break;
+
+            // The half-width shrinks with the square root of the number of replications
+            double ratio = relativeHalfWidth / targetRelativeHalfWidth;
+            long neededRuns = Double.isInfinite(ratio) ? Long.MAX_VALUE : (long) Math.ceil(runs * ratio * ratio);
+            int nextRuns = (int) Math.min(simulationRuns, Math.max(runs + 1, Math.min(neededRuns, 2L * runs)));
+
+            stats.merge(runReplications(runs, nextRuns, eventBus, pool));
+            runs = nextRuns;
+        }
+
+        completedRuns = runs;
+        totalReplications = runs * simulationDays;
+        return stats;
+    }
+
+    /**
+     * The engines keep the clock of a day in an {@code int}, which restarts at 0 every day. Only the totals carry
+     * over between days, and those are 64-bit, so a study is limited by the length of one day, not by its count.
+     */
+    private void checkDayLength(SimulationModel model) {
+        if (model.maxDayLength(simulationCustomersCount) > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Too many customers per day: " + simulationCustomersCount);
+    }
+
+    private void runFirstDay(SimulationEventBus eventBus) {
+        if (queueLengthPoints > 0) {
+            firstDayQueueLengths = new QueueLengthSeries(queueLengthPoints);
+        }
+        firstDayStats = eventBus != null && eventBus.observes(0, 0)
+                ? runObservedReplication(0, eventBus)
+                : runReplication(0, null);
+        observedStats.put(0, firstDayStats);
+
+        firstDayStats.calculateStatistics();
+        if (progressListener != null) {
+            progressListener.onFirstDayFinished(firstDayStats);
+        }
+        replicationFinished();
+    }
+
+    private SimulationData runObservedReplication(int index, SimulationEventBus eventBus) {
+        eventBus.beginReplication(index / simulationDays, index % simulationDays);
+        return runReplication(index, eventBus);
+    }
+
+    private void replicationFinished() {
+        int completed = completedReplications.incrementAndGet();
+        if (progressListener != null) {
+            progressListener.onReplicationFinished(completed, totalReplications);
+        }
+    }
+
+    // Null when nobody listens, so no day records events for nothing
+    private SimulationEventBus createEventBus() {
+        if (listeners.isEmpty()) return null;
+
+        SimulationEventBus eventBus = new SimulationEventBus(eventBufferSize, () -> cancelled);
+        for (int i = 0; i < listeners.size(); i++) {
+            eventBus.subscribe(listeners.get(i), subscriptions.get(i));
+        }
+        eventBus.start();
+        return eventBus;
+    }
+
+    private SimulationData runReplication(int index, SimulationEventBus eventBus) {
+        long replicationSeed = ReplicationRandom.replicationSeed(masterSeed, index);
+        SimulationData stats;
+        // The first day's statistics are kept for the whole study, so it can't use the compact engine's reused result
+        if (compactEngine && eventBus == null && index != 0) {
+            stats = compactReplications.get().run(replicationSeed);
+        } else {
+            stats = replications.get().run(replicationSeed, eventBus, index == 0 ? firstDayQueueLengths : null);
+        }
+        stats.recordReplication();
+        return stats;
+    }
+
+    /**
+     * Runs one day of a past study again and sends its events to the listener. The day is rebuilt from the study's
+     * master seed alone, using this simulator's days, customers per day and arrival mode, so they must match the
+     * study's.
+     *
+     * @param run zero based simulation run
+     * @param day zero based day within the run
+     * @return the statistics of the replayed day
+     */
+    public SimulationData replay(
+            SimulationModel model,
+            long masterSeed,
+            String rngAlgorithm,
+            int run,
+            int day,
+            SimulationListener listener
+    ) {
+        checkDayLength(model);
+        if (!RNG_ALGORITHM.equals(rngAlgorithm))
+            throw new IllegalArgumentException("Cannot replay a study seeded with " + rngAlgorithm);
+        if (run < 0 || run >= simulationRuns || day < 0 || day >= simulationDays)
+            throw new IllegalArgumentException("No day " + day + " in run " + run);
+
+        SimulationReplication replication = new SimulationReplication(
+                model,
+                simulationCustomersCount,
+                streamingArrivals,
+                eventCalendarFactory.get()
+        );
+        long replicationSeed = ReplicationRandom.replicationSeed(masterSeed, (long) run * simulationDays + day);
+
+        SimulationData stats;
+        try (SimulationEventBus eventBus = new SimulationEventBus(eventBufferSize)) {
+            eventBus.subscribe(listener, EventSubscription.firstDay()
+                    .replications((r, d) -> r == run && d == day));
+            eventBus.start();
+            eventBus.beginReplication(run, day);
+            stats = replication.run(replicationSeed, eventBus);
+        }
+        stats.calculateStatistics();
+        return stats;
+    }
+
+    /**
+     * Runs replications {@code [from, to)} and merges their statistics pairwise up a binary tree.
+     */
+    @SuppressWarnings("serial")
+    private class ReplicationTask extends RecursiveTask<SimulationData> {
+        private final int from;
+        private final int to;
+
+        ReplicationTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationData compute() {
+            if (to - from <= REPLICATIONS_PER_LEAF) {
+                return runLeaf();
+            }
+            int mid = (from + to) >>> 1;
+            ReplicationTask left = new ReplicationTask(from, mid);
+            ReplicationTask right = new ReplicationTask(mid, to);
+            left.fork();
+            SimulationData result = right.compute();
+            SimulationData leftResult = left.join();
+            leftResult.merge(result);
+            return leftResult;
+        }
+
+        SimulationData reduce() {
+            if (to - from <= REPLICATIONS_PER_LEAF) {
+                return runLeaf();
+            }
+            int mid = (from + to) >>> 1;
+            SimulationData result = new ReplicationTask(from, mid).reduce();
+            result.merge(new ReplicationTask(mid, to).reduce());
+            return result;
+        }
+
+        private SimulationData runLeaf() {
+            SimulationData result = new SimulationData();
+            for (int i = from; i < to; i++) {
+                SimulationData observed = observedStats.get(i);
+                if (observed != null) {
+                    result.merge(observed);
+                    continue;
+                }
+                if (cancelled) {
+                    throw new CancellationException("Simulation cancelled");
+                }
+                result.merge(runReplication(i, null));
+                replicationFinished();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Adds a listener that gets every event of the first day, however slow it is.
+     */
+    public void addListener(SimulationListener listener) {
+        addListener(listener, EventSubscription.firstDay());
+    }
+
+    public void addListener(SimulationListener listener, SimulationEventBus.Backpressure backpressure) {
+        addListener(listener, EventSubscription.firstDay().backpressure(backpressure));
+    }
+
+    /**
+     * Adds a listener fed from its own thread with the events it subscribed to. A study only finishes once every
+     * listener got its events.
+     */
+    public void addListener(SimulationListener listener, EventSubscription subscription) {
+        listeners.add(listener);
+        subscriptions.add(subscription);
+    }
+
+    /**
+     * Number of events buffered between the engine and the listeners, must be a power of two.
+     */
+    public void setEventBufferSize(int eventBufferSize) {
+        this.eventBufferSize = eventBufferSize;
+    }
+
+    public void setProgressListener(SimulationProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Stops the running study once the replications in progress finish, or the next one as soon as it starts if none
+     * is running. Safe to call from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Forgets a {@link #cancel()} so the next study runs. Not done by {@link #startSimulation}, so a cancel that
+     * lands between scheduling a study and its start still stops it; call this when scheduling instead.
+     */
+    public void resetCancellation() {
+        cancelled = false;
+    }
+
+    public void setSimulationRuns(int simulationRuns) {
+        this.simulationRuns = simulationRuns;
+    }
+
+    public void setSimulationCustomersCount(int simulationCustomersCount) {
+        this.simulationCustomersCount = simulationCustomersCount;
+    }
+
+    public void setSimulationDays(int simulationDays) {
+        this.simulationDays = simulationDays;
+    }
+
+    /**
+     * Runs replications on a {@link ForkJoinPool} instead of the calling thread. Results are identical to sequential
+     * mode for the same seed.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Generates each arrival only when the previous one is handled instead of queueing the whole day upfront, so
+     * memory per replication no longer grows with the number of customers.
+     */
+    public void setStreamingArrivals(boolean streamingArrivals) {
+        this.streamingArrivals = streamingArrivals;
+    }
+
+    /**
+     * @return whether arrivals are streamed; the mode decides the order of the random draws, so a replay must use the
+     * mode its study ran with
+     */
+    public boolean isStreamingArrivals() {
+        return streamingArrivals;
+    }
+
+    /**
+     * Runs the days that are not reported to listeners on {@link CompactReplication}, which keeps customers and
+     * events in reused primitive arrays instead of allocating objects. Results are unchanged.
+     */
+    public void setCompactEngine(boolean compactEngine) {
+        this.compactEngine = compactEngine;
+    }
+
+    /**
+     * Chooses the event calendar implementation, one instance is created per replication.
+     */
+    public void setEventCalendarFactory(Supplier<EventCalendar> eventCalendarFactory) {
+        this.eventCalendarFactory = eventCalendarFactory;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Fixes the master seed of the next studies. When unset, every study is seeded with the current time.
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Confidence level of the intervals reported with the total statistics and used by sequential stopping.
+     */
+    public void setConfidenceLevel(double confidenceLevel) {
+        this.confidenceLevel = confidenceLevel;
+    }
+
+    /**
+     * Turns on sequential stopping: studies add runs only until every statistic's confidence interval half-width is
+     * at most this fraction of its mean, with the simulation runs as the upper bound. Null runs every run.
+     */
+    public void setTargetRelativeHalfWidth(Double targetRelativeHalfWidth) {
+        this.targetRelativeHalfWidth = targetRelativeHalfWidth;
+    }
+
+    /**
+     * Records the queue lengths and occupancy of each study's first day over time, downsampled to at most this many
+     * points. 0 records nothing.
+     */
+    public void setQueueLengthPoints(int queueLengthPoints) {
+        this.queueLengthPoints = queueLengthPoints;
+    }
+
+    /**
+     * @return the number of runs the last study needed, fewer than the configured runs if it stopped early
+     */
+    public int getCompletedRuns() {
+        return completedRuns;
+    }
+
+    /**
+     * @return the model the last study ran on
+     */
+    public SimulationModel getModel() {
+        return model;
+    }
+
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    public SimulationData getTotalStats() {
+        return totalStats;
+    }
+
+    public SimulationData getFirstDayStats() {
+        return firstDayStats;
+    }
+
+    /**
+     * @return the first day's queue lengths over time, or null if they were not recorded
+     */
+    public QueueLengthSeries getFirstDayQueueLengths() {
+        return firstDayQueueLengths;
+    }
+}
@@ -0,0 +1,200 @@
+package com.bank.simulation;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * How the bank's load changes over the day, summed over every simulated day: arrivals, waits, queue lengths and
+ * busy employees in time bins of {@link #BASE_BIN_WIDTH} clock units. At most {@link #MAX_BINS} bins are kept; days
+ * longer than that double the bin width and merge neighbouring bins, so the memory used never depends on the number
+ * of customers. Profiles with different bin widths merge at the wider one.
+ * <p>
+ * The engines report every event through {@link #recordArrival}, {@link #recordWait} and {@link #advance}, which
+ * cost a constant amount of work apart from the rare event that crosses several bins.
+ */
+public final class TimeOfDayProfile implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int BASE_BIN_WIDTH = 5;
+    public static final int MAX_BINS = 288;
+
+    private int binWidth = BASE_BIN_WIDTH;
+    // Bins grow up to the latest time seen, like the histograms
+    private long[] arrivals = new long[0];
+    private long[] servedCustomers = new long[0];
+    private long[] waitTime = new long[0];
+    // Integrals over time of the customers queueing and of the busy employees
+    private long[] queueArea = new long[0];
+    private long[] busyArea = new long[0];
+    // Time of all days that fell in the bin, the denominator of the time averages
+    private long[] observedTime = new long[0];
+
+    private long days = 0;
+    private int employees = 0;
+
+    // Open segment of the current day
+    private int since = 0;
+    private int queued = 0;
+    private int busy = 0;
+
+    public void recordArrival(int time) {
+        int bin = binFor(time);
+        arrivals[bin]++;
+    }
+
+    /**
+     * @param arrivalTime time the customer arrived, which decides the bin
+     */
+    public void recordWait(int arrivalTime, int wait) {
+        int bin = binFor(arrivalTime);
+        servedCustomers[bin]++;
+        waitTime[bin] += wait;
+    }
+
+    /**
+     * Moves the clock to the given time: the previous counts held until then, the given ones hold from now on.
+     */
+    public void advance(int time, int queued, int busy) {
+        if (time > since) {
+            binFor(time - 1);
+            for (int bin = since / binWidth; bin <= (time - 1) / binWidth; bin++) {
+                int start = Math.max(since, bin * binWidth);
+                int end = Math.min(time, (bin + 1) * binWidth);
+                queueArea[bin] += (long) this.queued * (end - start);
+                busyArea[bin] += (long) this.busy * (end - start);
+                observedTime[bin] += end - start;
+            }
+            since = time;
+        }
+        this.queued = queued;
+        this.busy = busy;
+    }
+
+    /**
+     * Closes the current day.
+     *
+     * @param employees employees of all pools, the capacity against which the busy ones are measured
+     */
+    public void finishDay(int endTime, int employees) {
+        advance(endTime, 0, 0);
+        this.employees = employees;
+        days++;
+        since = 0;
+    }
+
+    public void reset() {
+        binWidth = BASE_BIN_WIDTH;
+        Arrays.fill(arrivals, 0);
+        Arrays.fill(servedCustomers, 0);
+        Arrays.fill(waitTime, 0);
+        Arrays.fill(queueArea, 0);
+        Arrays.fill(busyArea, 0);
+        Arrays.fill(observedTime, 0);
+        days = 0;
+        employees = 0;
+        since = 0;
+        queued = 0;
+        busy = 0;
+    }
+
+    public void merge(TimeOfDayProfile other) {
+        int otherBins = other.arrivals.length;
+        if (otherBins > 0) {
+            int lastTime = otherBins * other.binWidth - 1;
+            while (binWidth < other.binWidth) widen();
+            binFor(lastTime);
+
+            // Same width or a power of two times finer
+            int ratio = binWidth / other.binWidth;
+            for (int i = 0; i < otherBins; i++) {
+                int bin = i / ratio;
+                arrivals[bin] = Math.addExact(arrivals[bin], other.arrivals[i]);
+                servedCustomers[bin] = Math.addExact(servedCustomers[bin], other.servedCustomers[i]);
+                waitTime[bin] = Math.addExact(waitTime[bin], other.waitTime[i]);
+                queueArea[bin] = Math.addExact(queueArea[bin], other.queueArea[i]);
+                busyArea[bin] = Math.addExact(busyArea[bin], other.busyArea[i]);
+                observedTime[bin] = Math.addExact(observedTime[bin], other.observedTime[i]);
+            }
+        }
+        days += other.days;
+        employees = Math.max(employees, other.employees);
+    }
+
+    // Bin holding the time, widening and growing the bins as needed
+    private int binFor(int time) {
+        while (time / binWidth >= MAX_BINS) widen();
+
+        int bin = time / binWidth;
+        if (bin >= arrivals.length) {
+            int length = Math.min(MAX_BINS, Math.max(bin + 1, arrivals.length * 2));
+            arrivals = Arrays.copyOf(arrivals, length);
+            servedCustomers = Arrays.copyOf(servedCustomers, length);
+            waitTime = Arrays.copyOf(waitTime, length);
+            queueArea = Arrays.copyOf(queueArea, length);
+            busyArea = Arrays.copyOf(busyArea, length);
+            observedTime = Arrays.copyOf(observedTime, length);
+        }
+        return bin;
+    }
+
+    private void widen() {
+        for (long[] values : new long[][]{arrivals, servedCustomers, waitTime, queueArea, busyArea, observedTime}) {
+            int merged = (values.length + 1) / 2;
+            for (int i = 0; i < merged; i++) {
+                long sum = values[2 * i];
+                if (2 * i + 1 < values.length) sum += values[2 * i + 1];
+                values[i] = sum;
+            }
+            Arrays.fill(values, merged, values.length, 0);
+        }
+        binWidth *= 2;
+    }
+
+    public int getBinWidth() {
+        return binWidth;
+    }
+
+    /**
+     * @return number of bins holding data, the last one ending at or after the longest day
+     */
+    public int getBinCount() {
+        int count = observedTime.length;
+        while (count > 0 && observedTime[count - 1] == 0 && arrivals[count - 1] == 0) count--;
+        return count;
+    }
+
+    public long getDays() {
+        return days;
+    }
+
+    /**
+     * @return arrivals in the bin, averaged over all days
+     */
+    public double getArrivalsPerDay(int bin) {
+        return days == 0 ? 0 : arrivals[bin] / (double) days;
+    }
+
+    /**
+     * @return the mean wait of the customers who arrived in the bin
+     */
+    public double getMeanWait(int bin) {
+        return servedCustomers[bin] == 0 ? 0 : waitTime[bin] / (double) servedCustomers[bin];
+    }
+
+    /**
+     * @return the time-average number of customers queueing, over the days that were still running in the bin
+     */
+    public double getMeanQueueLength(int bin) {
+        return observedTime[bin] == 0 ? 0 : queueArea[bin] / (double) observedTime[bin];
+    }
+
+    /**
+     * @return the fraction of employees busy in the bin, over the days that were still running in it
+     */
+    public double getUtilization(int bin) {
+        return observedTime[bin] == 0 || employees == 0 ? 0
+                : busyArea[bin] / ((double) observedTime[bin] * employees);
+    }
+}
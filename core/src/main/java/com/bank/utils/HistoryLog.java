@@ -0,0 +1,572 @@
+package com.bank.utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only store of opaque payloads keyed by id, kept in numbered segment files. Every record can carry a small
+ * summary next to its payload; summaries are kept in memory so listing the store never touches the payloads.
+ * <p>
+ * Every change is one frame appended to the newest segment and forced to disk before the call returns: a record
+ * frame for a save, a tombstone frame for a delete. Frames carry their length and a CRC32C, so a frame torn by a
+ * crash is detected on open and cut off. Space held by deleted records is reclaimed by a background compaction that
+ * copies the live frames of the sealed segments into one segment. That segment starts with a marker frame saying
+ * every lower numbered segment is superseded, so a crash halfway through never brings deleted records back.
+ * <p>
+ * The index (where each record lives, plus its summary) is checkpointed in the background, so opening the store only
+ * scans what was appended since the last checkpoint.
+ * <p>
+ * One instance per directory is shared by everyone in the process, see {@link #open(Path)}.
+ */
+class HistoryLog {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String CHECKPOINT_FILE = "index.chk";
+    private static final int CHECKPOINT_MAGIC = 0x48495358;
+
+    // Id and payload, written before summaries existed
+    private static final byte RECORD = 1;
+    private static final byte TOMBSTONE = 2;
+    // Every segment numbered below the one starting with this frame is superseded
+    private static final byte COMPACTED = 3;
+    // Id, summary and payload
+    private static final byte SUMMARIZED_RECORD = 4;
+
+    // Length and checksum
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final long SEGMENT_MAX_BYTES = 16L * 1024 * 1024;
+    private static final long COMPACTION_MIN_GARBAGE_BYTES = 1024 * 1024;
+
+    private static final Map<Path, HistoryLog> LOGS = new HashMap<>();
+
+    record Entry(String id, byte[] summary, byte[] payload) {
+    }
+
+    // `summary` is null for records saved without one
+    private record Location(long segment, long offset, int frameLength, byte[] summary) {
+        Location movedTo(long segment, long offset) {
+            return new Location(segment, offset, frameLength, summary);
+        }
+    }
+
+    private final Path directory;
+    // Live records by id, in the order they were first saved
+    private final LinkedHashMap<String, Location> index = new LinkedHashMap<>();
+    // Runs compactions and checkpoints, one at a time
+    private final ExecutorService maintenance = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "history-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long activeSegment;
+    private long activeSize;
+    private long totalBytes;
+    private long garbageBytes;
+    private boolean compacting = false;
+    private boolean checkpointScheduled = false;
+
+    static synchronized HistoryLog open(Path directory) throws IOException {
+        Path key = directory.toAbsolutePath().normalize();
+        HistoryLog log = LOGS.get(key);
+        if (log == null) {
+            log = new HistoryLog(key);
+            LOGS.put(key, log);
+        }
+        return log;
+    }
+
+    private HistoryLog(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    synchronized void append(String id, byte[] summary, byte[] payload) throws IOException {
+        byte[] frame = frame(SUMMARIZED_RECORD, id, summary, payload);
+        long offset = write(frame);
+        Location previous = index.put(id, new Location(activeSegment, offset, frame.length, summary));
+        if (previous != null) {
+            garbageBytes += previous.frameLength();
+        }
+        changed();
+    }
+
+    synchronized void delete(String id) throws IOException {
+        Location location = index.remove(id);
+        if (location == null) return;
+
+        byte[] frame = frame(TOMBSTONE, id, null, new byte[0]);
+        write(frame);
+        garbageBytes += location.frameLength() + frame.length;
+        changed();
+    }
+
+    /**
+     * Writes a batch of records as one new segment, atomically: either all of them are there after a crash or none.
+     * Used to import an old history file.
+     */
+    synchronized void appendAll(List<Entry> entries) throws IOException {
+        rollSegment();
+        long segment = activeSegment;
+        Path temp = tempPath(segment);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long offset = 0;
+            for (Entry entry : entries) {
+                byte[] frame = frame(SUMMARIZED_RECORD, entry.id(), entry.summary(), entry.payload());
+                writeFully(channel, frame);
+                index.put(entry.id(), new Location(segment, offset, frame.length, entry.summary()));
+                offset += frame.length;
+            }
+            channel.force(true);
+            activeSize = offset;
+            totalBytes += offset;
+        }
+        Files.move(temp, segmentPath(segment), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+        changed();
+    }
+
+    /**
+     * @return the payload of a record, read from disk, or null if there is no such record
+     */
+    synchronized byte[] read(String id) throws IOException {
+        Location location = index.get(id);
+        if (location == null) return null;
+        return readPayload(location);
+    }
+
+    /**
+     * @return the payloads of every live record, in the order they were first saved
+     */
+    synchronized LinkedHashMap<String, byte[]> readAll() throws IOException {
+        LinkedHashMap<String, byte[]> records = new LinkedHashMap<>();
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            records.put(entry.getKey(), readPayload(entry.getValue()));
+        }
+        return records;
+    }
+
+    /**
+     * @return the summary of every live record from memory, null for records saved without one
+     */
+    synchronized LinkedHashMap<String, byte[]> summaries() {
+        LinkedHashMap<String, byte[]> summaries = new LinkedHashMap<>();
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            summaries.put(entry.getKey(), entry.getValue().summary());
+        }
+        return summaries;
+    }
+
+    /**
+     * Attaches a summary to a record saved without one. The segment isn't rewritten, the summary is kept in the
+     * index and its checkpoint.
+     */
+    synchronized void setSummary(String id, byte[] summary) {
+        Location location = index.get(id);
+        if (location == null) return;
+        index.put(id, new Location(location.segment(), location.offset(), location.frameLength(), summary));
+        scheduleCheckpoint();
+    }
+
+    private byte[] readPayload(Location location) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(location.segment()), StandardOpenOption.READ)) {
+            ByteBuffer frame = ByteBuffer.allocate(location.frameLength());
+            readFully(channel, frame, location.offset());
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                    frame.array(), FRAME_HEADER_SIZE, frame.capacity() - FRAME_HEADER_SIZE));
+            byte type = in.readByte();
+            in.readUTF();
+            if (type == SUMMARIZED_RECORD) {
+                in.skipNBytes(in.readInt());
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    private long write(byte[] frame) throws IOException {
+        if (activeSize > 0 && activeSize + frame.length > SEGMENT_MAX_BYTES) {
+            rollSegment();
+        }
+        long offset = activeSize;
+        try (FileChannel channel = FileChannel.open(segmentPath(activeSegment), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            writeFully(channel, frame);
+            channel.force(false);
+        }
+        activeSize += frame.length;
+        totalBytes += frame.length;
+        return offset;
+    }
+
+    private void rollSegment() {
+        activeSegment++;
+        activeSize = 0;
+    }
+
+    private void changed() {
+        maybeCompact();
+        scheduleCheckpoint();
+    }
+
+    private static byte[] frame(byte type, String id, byte[] summary, byte[] payload) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(payload.length + 64);
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeByte(type);
+        if (id != null) {
+            out.writeUTF(id);
+        }
+        if (type == SUMMARIZED_RECORD) {
+            out.writeInt(summary.length);
+            out.write(summary);
+        }
+        out.write(payload);
+        out.flush();
+        byte[] bodyBytes = body.toByteArray();
+
+        CRC32C crc = new CRC32C();
+        crc.update(bodyBytes);
+        return ByteBuffer.allocate(FRAME_HEADER_SIZE + bodyBytes.length)
+                .putInt(bodyBytes.length)
+                .putInt((int) crc.getValue())
+                .put(bodyBytes)
+                .array();
+    }
+
+    // Rebuilds the index from the checkpoint and the segments, and cuts off a torn tail left by a crash
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(directory, "*" + TEMP_SUFFIX)) {
+            for (Path temp : temps) {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        List<Long> segments = listSegments();
+        Map<Long, Long> checkpointed = loadCheckpoint(segments);
+        if (checkpointed == null) {
+            index.clear();
+            checkpointed = Map.of();
+        }
+
+        for (int i = 0; i < segments.size(); i++) {
+            long segment = segments.get(i);
+            // Deleted by a compaction marker found in a later segment
+            if (!Files.exists(segmentPath(segment))) continue;
+
+            long validLength = scanSegment(segment, checkpointed.getOrDefault(segment, 0L));
+            long fileLength = Files.size(segmentPath(segment));
+            if (validLength < fileLength) {
+                if (i == segments.size() - 1) {
+                    try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.WRITE)) {
+                        channel.truncate(validLength);
+                        channel.force(true);
+                    }
+                } else {
+                    System.err.println("History segment " + segment + " is damaged after byte " + validLength);
+                }
+            }
+            activeSegment = segment;
+            activeSize = validLength;
+        }
+        // Segments superseded by a compacted one are gone by now
+        for (long segment : listSegments()) {
+            totalBytes += Files.size(segmentPath(segment));
+        }
+        garbageBytes = totalBytes - index.values().stream().mapToLong(Location::frameLength).sum();
+    }
+
+    // Applies the frames of a segment from `start` on to the index and returns how many bytes of it are intact
+    private long scanSegment(long segment, long start) throws IOException {
+        byte[] data;
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+            ByteBuffer tail = ByteBuffer.allocate((int) (channel.size() - start));
+            readFully(channel, tail, start);
+            data = tail.array();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        long offset = start;
+        while (buffer.remaining() >= FRAME_HEADER_SIZE) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 1 || length > buffer.remaining()) break;
+
+            CRC32C crc = new CRC32C();
+            crc.update(data, buffer.position(), length);
+            if ((int) crc.getValue() != checksum) break;
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, buffer.position(), length));
+            byte type = in.readByte();
+            int frameLength = FRAME_HEADER_SIZE + length;
+            switch (type) {
+                case RECORD -> index.put(in.readUTF(), new Location(segment, offset, frameLength, null));
+                case SUMMARIZED_RECORD -> {
+                    String id = in.readUTF();
+                    byte[] summary = in.readNBytes(in.readInt());
+                    index.put(id, new Location(segment, offset, frameLength, summary));
+                }
+                case TOMBSTONE -> index.remove(in.readUTF());
+                case COMPACTED -> dropSupersededSegments(segment);
+                default -> throw new IOException("Unknown history frame type " + type);
+            }
+            buffer.position(buffer.position() + length);
+            offset += frameLength;
+        }
+        return offset;
+    }
+
+    // Finishes a compaction that crashed before deleting the segments it replaced
+    private void dropSupersededSegments(long compactedSegment) throws IOException {
+        index.values().removeIf(location -> location.segment() < compactedSegment);
+        for (long segment : listSegments()) {
+            if (segment < compactedSegment) {
+                Files.deleteIfExists(segmentPath(segment));
+            }
+        }
+    }
+
+    /**
+     * Loads the checkpointed index. Segment files only ever grow until a compaction replaces them, and compactions
+     * delete the checkpoint first, so the checkpoint is usable as long as every segment it covers is still at least
+     * as long as it was and no older segment appeared.
+     *
+     * @return how many bytes of each segment the checkpoint covers, or null if it can't be used
+     */
+    private Map<Long, Long> loadCheckpoint(List<Long> segments) {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) return null;
+
+        try {
+            byte[] bytes = Files.readAllBytes(checkpoint);
+            if (bytes.length < 4) return null;
+            CRC32C crc = new CRC32C();
+            crc.update(bytes, 0, bytes.length - 4);
+            if ((int) crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - 4, 4).getInt()) return null;
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 4));
+            if (in.readInt() != CHECKPOINT_MAGIC) return null;
+
+            Map<Long, Long> covered = new HashMap<>();
+            int segmentCount = in.readInt();
+            long lastCovered = -1;
+            for (int i = 0; i < segmentCount; i++) {
+                long segment = in.readLong();
+                long size = in.readLong();
+                if (!segments.contains(segment) || Files.size(segmentPath(segment)) < size) return null;
+                covered.put(segment, size);
+                lastCovered = Math.max(lastCovered, segment);
+            }
+            for (long segment : segments) {
+                if (segment < lastCovered && !covered.containsKey(segment)) return null;
+            }
+
+            int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                String id = in.readUTF();
+                long segment = in.readLong();
+                long offset = in.readLong();
+                int frameLength = in.readInt();
+                int summaryLength = in.readInt();
+                byte[] summary = summaryLength < 0 ? null : in.readNBytes(summaryLength);
+                index.put(id, new Location(segment, offset, frameLength, summary));
+            }
+            return covered;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void scheduleCheckpoint() {
+        if (checkpointScheduled) return;
+        checkpointScheduled = true;
+        maintenance.execute(() -> {
+            try {
+                writeCheckpoint();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Failed to checkpoint simulation history: " + e.getMessage());
+            }
+        });
+    }
+
+    // Only runs on the maintenance thread, so it never overlaps a compaction
+    private void writeCheckpoint() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        synchronized (this) {
+            checkpointScheduled = false;
+            out.writeInt(CHECKPOINT_MAGIC);
+
+            List<Long> segments = listSegments();
+            out.writeInt(segments.size());
+            for (long segment : segments) {
+                out.writeLong(segment);
+                out.writeLong(segment == activeSegment ? activeSize : Files.size(segmentPath(segment)));
+            }
+
+            out.writeInt(index.size());
+            for (Map.Entry<String, Location> entry : index.entrySet()) {
+                Location location = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeLong(location.segment());
+                out.writeLong(location.offset());
+                out.writeInt(location.frameLength());
+                if (location.summary() == null) {
+                    out.writeInt(-1);
+                } else {
+                    out.writeInt(location.summary().length);
+                    out.write(location.summary());
+                }
+            }
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+
+        Path temp = directory.resolve(CHECKPOINT_FILE + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, bytes.toByteArray());
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void maybeCompact() {
+        if (compacting || garbageBytes < COMPACTION_MIN_GARBAGE_BYTES || garbageBytes * 2 < totalBytes) return;
+
+        compacting = true;
+        // Seal the active segment so compaction only reads files nobody appends to
+        long lastSealed = activeSegment;
+        rollSegment();
+        maintenance.execute(() -> {
+            try {
+                compact(lastSealed);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Failed to compact simulation history: " + e.getMessage());
+            } finally {
+                synchronized (this) {
+                    compacting = false;
+                }
+            }
+        });
+    }
+
+    private void compact(long lastSealed) throws IOException {
+        List<Map.Entry<String, Location>> live;
+        synchronized (this) {
+            live = new ArrayList<>();
+            for (Map.Entry<String, Location> entry : index.entrySet()) {
+                if (entry.getValue().segment() <= lastSealed) {
+                    live.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+        }
+
+        // Copying happens outside the lock, saves and deletes go to the new active segment meanwhile
+        Path temp = tempPath(lastSealed);
+        Map<String, Long> movedOffsets = new HashMap<>();
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            byte[] marker = frame(COMPACTED, null, null, new byte[0]);
+            writeFully(out, marker);
+            long offset = marker.length;
+            for (Map.Entry<String, Location> entry : live) {
+                Location location = entry.getValue();
+                try (FileChannel in = FileChannel.open(segmentPath(location.segment()), StandardOpenOption.READ)) {
+                    ByteBuffer frame = ByteBuffer.allocate(location.frameLength());
+                    readFully(in, frame, location.offset());
+                    writeFully(out, frame.array());
+                }
+                movedOffsets.put(entry.getKey(), offset);
+                offset += location.frameLength();
+            }
+            out.force(true);
+        }
+
+        synchronized (this) {
+            long sealedBytes = 0;
+            for (long segment : listSegments()) {
+                if (segment <= lastSealed) {
+                    sealedBytes += Files.size(segmentPath(segment));
+                }
+            }
+            // The checkpoint points into the segments about to be replaced
+            Files.deleteIfExists(directory.resolve(CHECKPOINT_FILE));
+            Files.move(temp, segmentPath(lastSealed), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory();
+            for (long segment : listSegments()) {
+                if (segment < lastSealed) {
+                    Files.deleteIfExists(segmentPath(segment));
+                }
+            }
+
+            long compactedBytes = Files.size(segmentPath(lastSealed));
+            // Records deleted while copying keep their tombstone in the active segment and stay out of the index
+            for (Map.Entry<String, Long> moved : movedOffsets.entrySet()) {
+                index.computeIfPresent(moved.getKey(), (id, location) -> location.segment() <= lastSealed
+                        ? location.movedTo(lastSealed, moved.getValue())
+                        : location);
+            }
+            totalBytes += compactedBytes - sealedBytes;
+            garbageBytes = totalBytes - index.values().stream().mapToLong(Location::frameLength).sum();
+            scheduleCheckpoint();
+        }
+    }
+
+    private List<Long> listSegments() {
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    segments.add(Long.parseLong(name.substring(
+                            SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private Path tempPath(long segment) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segment, TEMP_SUFFIX));
+    }
+
+    // Makes renames and deletions durable, not supported on every platform
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) throw new EOFException("History segment ended early");
+        }
+    }
+}
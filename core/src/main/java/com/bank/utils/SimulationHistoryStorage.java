@@ -0,0 +1,236 @@
+package com.bank.utils;
+
+import com.bank.models.SimulationHistoryRecord;
+import com.bank.models.SimulationHistorySummary;
+import com.bank.simulation.Metric;
+import com.bank.simulation.SimulationData;
+import com.bank.simulation.SimulationMetrics;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Saved simulations, kept in an append-only {@link HistoryLog}: saving writes only the new record and deleting
+ * writes a tombstone. Each record is stored with a {@link SimulationHistorySummary}, which is all the history list
+ * needs; the full record is only read when one is opened.
+ */
+public class SimulationHistoryStorage {
+    private static final String HISTORY_DIR = "simulation_history";
+    // Whole history serialized as one list, the format before the log
+    private static final String LEGACY_HISTORY_FILE = "history.dat";
+    private static final String MIGRATED_SUFFIX = ".migrated";
+    // Stands in a summary where older ones start their text statistics with a count, which is never negative
+    private static final int SUMMARY_METRICS_MARKER = -1;
+
+    private final HistoryLog log;
+
+    public SimulationHistoryStorage() {
+        this(Paths.get(HISTORY_DIR));
+    }
+
+    /**
+     * @param historyDir directory of the history log, created if missing
+     */
+    public SimulationHistoryStorage(Path historyDir) {
+        try {
+            log = HistoryLog.open(historyDir);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to initialize history storage", e);
+        }
+        Path legacyFile = historyDir.resolve(LEGACY_HISTORY_FILE);
+        try {
+            migrateLegacyHistory(legacyFile);
+        } catch (IOException | ClassNotFoundException e) {
+            // The saved history works without it, and the import is tried again on the next start
+            System.err.println("Failed to import " + legacyFile + ", keeping it: " + e);
+        }
+    }
+
+    // Imports history.dat as a single segment, then renames it so it is never imported twice. Records already in the
+    // log are skipped, so an import cut short before the rename does not duplicate them.
+    private void migrateLegacyHistory(Path legacyFile) throws IOException, ClassNotFoundException {
+        synchronized (log) {
+            if (!Files.exists(legacyFile)) return;
+
+            List<SimulationHistoryRecord> history = readLegacyHistory(legacyFile);
+            // Oldest first, like records saved one by one
+            history.sort(Comparator.comparing(SimulationHistoryRecord::getTimestamp));
+            Set<String> saved = log.summaries().keySet();
+            List<HistoryLog.Entry> entries = new ArrayList<>();
+            for (SimulationHistoryRecord record : history) {
+                if (saved.contains(record.getId())) continue;
+                entries.add(new HistoryLog.Entry(
+                        record.getId(),
+                        encodeSummary(SimulationHistorySummary.of(record)),
+                        serialize(record)
+                ));
+            }
+            if (!entries.isEmpty()) {
+                log.appendAll(entries);
+            }
+            Files.move(legacyFile, legacyFile.resolveSibling(LEGACY_HISTORY_FILE + MIGRATED_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<SimulationHistoryRecord> readLegacyHistory(Path legacyFile)
+            throws IOException, ClassNotFoundException {
+        if (Files.size(legacyFile) == 0) {
+            return new ArrayList<>();
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(legacyFile)))) {
+            Object obj = ois.readObject();
+            if (!(obj instanceof List)) {
+                throw new InvalidObjectException("Not a list of simulations: " + obj.getClass().getName());
+            }
+            return new ArrayList<>((List<SimulationHistoryRecord>) obj);
+        }
+    }
+
+    public void saveSimulation(SimulationHistoryRecord record) {
+        record.setTimestamp(LocalDateTime.now());
+        try {
+            log.append(record.getId(), encodeSummary(SimulationHistorySummary.of(record)), serialize(record));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save history", e);
+        }
+    }
+
+    public List<SimulationHistoryRecord> loadHistory() {
+        List<SimulationHistoryRecord> history = new ArrayList<>();
+        try {
+            for (byte[] payload : log.readAll().values()) {
+                history.add(deserialize(payload));
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            return new ArrayList<>();
+        }
+        history.sort(Comparator.comparing(SimulationHistoryRecord::getTimestamp).reversed());
+        return history;
+    }
+
+    /**
+     * @return the summaries of every saved simulation, newest first, without reading any record
+     */
+    public List<SimulationHistorySummary> loadSummaries() {
+        List<SimulationHistorySummary> summaries = new ArrayList<>();
+        for (Map.Entry<String, byte[]> entry : log.summaries().entrySet()) {
+            try {
+                if (entry.getValue() != null) {
+                    summaries.add(decodeSummary(entry.getValue()));
+                } else {
+                    // Saved before summaries existed, summarized once and kept in the index from then on
+                    SimulationHistorySummary summary = SimulationHistorySummary.of(deserialize(log.read(entry.getKey())));
+                    log.setSummary(entry.getKey(), encodeSummary(summary));
+                    summaries.add(summary);
+                }
+            } catch (IOException | ClassNotFoundException e) {
+                System.err.println("Failed to read simulation history entry " + entry.getKey() + ": " + e.getMessage());
+            }
+        }
+        summaries.sort(Comparator.comparing(SimulationHistorySummary::timestamp).reversed());
+        return summaries;
+    }
+
+    /**
+     * @return the full record of a saved simulation, or null if it was deleted
+     */
+    public SimulationHistoryRecord loadSimulation(String id) {
+        try {
+            byte[] payload = log.read(id);
+            return payload == null ? null : deserialize(payload);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException("Failed to load history", e);
+        }
+    }
+
+    public void deleteSimulation(SimulationHistoryRecord record) {
+        deleteSimulation(record.getId());
+    }
+
+    public void deleteSimulation(String id) {
+        try {
+            log.delete(id);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete history", e);
+        }
+    }
+
+    private static byte[] encodeSummary(SimulationHistorySummary summary) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(summary.id());
+        out.writeLong(summary.timestamp().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(summary.timestamp().getNano());
+        SimulationHistoryRecord.SimulationParams params = summary.simulationParams();
+        out.writeInt(params.simulationDays());
+        out.writeInt(params.simulationCustomers());
+        out.writeInt(params.simulationRuns());
+        List<Metric> metrics = summary.headlineMetrics().getMetrics();
+        out.writeInt(SUMMARY_METRICS_MARKER);
+        out.writeInt(metrics.size());
+        for (Metric metric : metrics) {
+            out.writeUTF(metric.name());
+            out.writeDouble(summary.headlineMetrics().get(metric));
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static SimulationHistorySummary decodeSummary(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        String id = in.readUTF();
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        SimulationHistoryRecord.SimulationParams params =
+                new SimulationHistoryRecord.SimulationParams(in.readInt(), in.readInt(), in.readInt());
+        SimulationMetrics headlineMetrics;
+        int count = in.readInt();
+        if (count == SUMMARY_METRICS_MARKER) {
+            headlineMetrics = new SimulationMetrics();
+            count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                double value = in.readDouble();
+                try {
+                    headlineMetrics.set(Metric.valueOf(name), value);
+                } catch (IllegalArgumentException e) {
+                    // Metric removed since the summary was written
+                }
+            }
+        } else {
+            // Summaries written before metrics were kept as numbers hold label and text value pairs
+            List<SimulationData.Statistic> statistics = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                statistics.add(new SimulationData.Statistic(in.readUTF(), in.readUTF()));
+            }
+            headlineMetrics = SimulationMetrics.fromStatistics(statistics);
+        }
+        return new SimulationHistorySummary(id, timestamp, params, headlineMetrics);
+    }
+
+    private static byte[] serialize(SimulationHistoryRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(record);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static SimulationHistoryRecord deserialize(byte[] payload) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return (SimulationHistoryRecord) ois.readObject();
+        }
+    }
+}
@@ -1,5 +0,0 @@
-package com.bank.models;
-
-public interface SimulationListener {
-    void onEvent(SimulationEventRecord eventRecord);
-}